@@ -0,0 +1,76 @@
+package dk.ek.vp.homemadecollections.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// addFirst on a list of the given size; removeLast keeps the size constant between invocations.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddFirstBenchmark
+{
+    @Benchmark
+    public Object genericArrayList(ListState s)
+    {
+        s.genericArrayList.addFirst(s.values[0]);
+        return s.genericArrayList.removeLast();
+    }
+
+    @Benchmark
+    public Object genericLinkedList(ListState s)
+    {
+        s.genericLinkedList.addFirst(s.values[0]);
+        return s.genericLinkedList.removeLast();
+    }
+
+    @Benchmark
+    public Object genericCircularArrayList(ListState s)
+    {
+        s.genericCircularArrayList.addFirst(s.values[0]);
+        return s.genericCircularArrayList.removeLast();
+    }
+
+    @Benchmark
+    public Object stringArrayList(ListState s)
+    {
+        s.stringArrayList.addFirst(s.strings[0]);
+        return s.stringArrayList.removeLast();
+    }
+
+    @Benchmark
+    public Object stringLinkedList(ListState s)
+    {
+        s.stringLinkedList.addFirst(s.strings[0]);
+        return s.stringLinkedList.removeLast();
+    }
+
+    @Benchmark
+    public Object arrayList(ListState s)
+    {
+        s.arrayList.add(0, s.values[0]);
+        return s.arrayList.remove(s.arrayList.size() - 1);
+    }
+
+    @Benchmark
+    public Object arrayDeque(ListState s)
+    {
+        s.arrayDeque.addFirst(s.values[0]);
+        return s.arrayDeque.removeLast();
+    }
+
+    @Benchmark
+    public Object linkedList(ListState s)
+    {
+        s.linkedList.addFirst(s.values[0]);
+        return s.linkedList.removeLast();
+    }
+}
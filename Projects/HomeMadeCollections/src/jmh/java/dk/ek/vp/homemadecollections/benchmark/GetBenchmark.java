@@ -0,0 +1,62 @@
+package dk.ek.vp.homemadecollections.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// A single get(index) at a scattered index. ArrayDeque has no indexed access and is left out.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetBenchmark
+{
+    @Benchmark
+    public Object genericArrayList(ListState s)
+    {
+        return s.genericArrayList.get(s.nextIndex());
+    }
+
+    @Benchmark
+    public Object genericLinkedList(ListState s)
+    {
+        return s.genericLinkedList.get(s.nextIndex());
+    }
+
+    @Benchmark
+    public Object genericCircularArrayList(ListState s)
+    {
+        return s.genericCircularArrayList.get(s.nextIndex());
+    }
+
+    @Benchmark
+    public Object stringArrayList(ListState s)
+    {
+        return s.stringArrayList.get(s.nextIndex());
+    }
+
+    @Benchmark
+    public Object stringLinkedList(ListState s)
+    {
+        return s.stringLinkedList.get(s.nextIndex());
+    }
+
+    @Benchmark
+    public Object arrayList(ListState s)
+    {
+        return s.arrayList.get(s.nextIndex());
+    }
+
+    @Benchmark
+    public Object linkedList(ListState s)
+    {
+        return s.linkedList.get(s.nextIndex());
+    }
+}
@@ -0,0 +1,139 @@
+package dk.ek.vp.homemadecollections.benchmark;
+
+import dk.ek.vp.homemadecollections.first.impl.StringArrayList;
+import dk.ek.vp.homemadecollections.first.impl.StringLinkedList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericArrayList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericCircularArrayList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericLinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+// Fills a new list with addLast, including every resize on the way; the *Presized variants reserve capacity first.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrowthBenchmark
+{
+    @Benchmark
+    public Object genericArrayList(ListState s)
+    {
+        GenericArrayList<Integer> list = new GenericArrayList<>();
+        for(Integer value : s.values)
+        {
+            list.addLast(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object genericArrayListPresized(ListState s)
+    {
+        GenericArrayList<Integer> list = new GenericArrayList<>();
+        list.ensureCapacity(s.size);
+        for(Integer value : s.values)
+        {
+            list.addLast(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object genericLinkedList(ListState s)
+    {
+        GenericLinkedList<Integer> list = new GenericLinkedList<>();
+        for(Integer value : s.values)
+        {
+            list.addLast(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object genericCircularArrayList(ListState s)
+    {
+        GenericCircularArrayList<Integer> list = new GenericCircularArrayList<>();
+        for(Integer value : s.values)
+        {
+            list.addLast(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object stringArrayList(ListState s)
+    {
+        StringArrayList list = new StringArrayList();
+        for(String str : s.strings)
+        {
+            list.addLast(str);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object stringLinkedList(ListState s)
+    {
+        StringLinkedList list = new StringLinkedList();
+        for(String str : s.strings)
+        {
+            list.addLast(str);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object arrayList(ListState s)
+    {
+        ArrayList<Integer> list = new ArrayList<>();
+        for(Integer value : s.values)
+        {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object arrayListPresized(ListState s)
+    {
+        ArrayList<Integer> list = new ArrayList<>(s.size);
+        for(Integer value : s.values)
+        {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object arrayDeque(ListState s)
+    {
+        ArrayDeque<Integer> list = new ArrayDeque<>();
+        for(Integer value : s.values)
+        {
+            list.addLast(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object linkedList(ListState s)
+    {
+        LinkedList<Integer> list = new LinkedList<>();
+        for(Integer value : s.values)
+        {
+            list.addLast(value);
+        }
+        return list;
+    }
+}
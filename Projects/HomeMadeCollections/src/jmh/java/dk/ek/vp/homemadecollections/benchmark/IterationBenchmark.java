@@ -0,0 +1,93 @@
+package dk.ek.vp.homemadecollections.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// A full for-each pass over the list.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterationBenchmark
+{
+    @Benchmark
+    public void genericArrayList(ListState s, Blackhole bh)
+    {
+        for(Integer value : s.genericArrayList)
+        {
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void genericLinkedList(ListState s, Blackhole bh)
+    {
+        for(Integer value : s.genericLinkedList)
+        {
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void genericCircularArrayList(ListState s, Blackhole bh)
+    {
+        for(Integer value : s.genericCircularArrayList)
+        {
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void stringArrayList(ListState s, Blackhole bh)
+    {
+        for(String str : s.stringArrayList)
+        {
+            bh.consume(str);
+        }
+    }
+
+    @Benchmark
+    public void stringLinkedList(ListState s, Blackhole bh)
+    {
+        for(String str : s.stringLinkedList)
+        {
+            bh.consume(str);
+        }
+    }
+
+    @Benchmark
+    public void arrayList(ListState s, Blackhole bh)
+    {
+        for(Integer value : s.arrayList)
+        {
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void arrayDeque(ListState s, Blackhole bh)
+    {
+        for(Integer value : s.arrayDeque)
+        {
+            bh.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void linkedList(ListState s, Blackhole bh)
+    {
+        for(Integer value : s.linkedList)
+        {
+            bh.consume(value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package dk.ek.vp.homemadecollections.benchmark;
+
+import dk.ek.vp.homemadecollections.first.impl.StringArrayList;
+import dk.ek.vp.homemadecollections.first.impl.StringLinkedList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericArrayList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericCircularArrayList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericLinkedList;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedList;
+
+// Pre-filled lists of every implementation, with the same elements, so benchmarks only measure the operation.
+@State(Scope.Thread)
+public class ListState
+{
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    public Integer[] values;
+    public String[] strings;
+
+    public GenericArrayList<Integer> genericArrayList;
+    public GenericLinkedList<Integer> genericLinkedList;
+    public GenericCircularArrayList<Integer> genericCircularArrayList;
+    public StringArrayList stringArrayList;
+    public StringLinkedList stringLinkedList;
+    public ArrayList<Integer> arrayList;
+    public ArrayDeque<Integer> arrayDeque;
+    public LinkedList<Integer> linkedList;
+
+    // Cycles through the indexes in a scattered order, so indexed reads are not purely sequential.
+    private int cursor;
+
+    @Setup
+    public void setUp()
+    {
+        values = new Integer[size];
+        strings = new String[size];
+        for(int i = 0; i < size; ++i)
+        {
+            values[i] = i;
+            strings[i] = "id-" + i;
+        }
+        genericArrayList = new GenericArrayList<>();
+        genericLinkedList = new GenericLinkedList<>();
+        genericCircularArrayList = new GenericCircularArrayList<>();
+        stringArrayList = new StringArrayList();
+        stringLinkedList = new StringLinkedList();
+        arrayList = new ArrayList<>();
+        arrayDeque = new ArrayDeque<>();
+        linkedList = new LinkedList<>();
+        for(int i = 0; i < size; ++i)
+        {
+            genericArrayList.addLast(values[i]);
+            genericLinkedList.addLast(values[i]);
+            genericCircularArrayList.addLast(values[i]);
+            stringArrayList.addLast(strings[i]);
+            stringLinkedList.addLast(strings[i]);
+            arrayList.add(values[i]);
+            arrayDeque.addLast(values[i]);
+            linkedList.addLast(values[i]);
+        }
+        cursor = 0;
+    }
+
+    public int nextIndex()
+    {
+        cursor += 7919;
+        if(cursor >= size)
+        {
+            cursor %= size;
+        }
+        return cursor;
+    }
+}
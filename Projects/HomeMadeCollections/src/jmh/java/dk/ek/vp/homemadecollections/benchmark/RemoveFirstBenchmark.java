@@ -0,0 +1,68 @@
+package dk.ek.vp.homemadecollections.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// The list used as a work queue: removeFirst, then addLast of the same element to keep the size constant.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RemoveFirstBenchmark
+{
+    @Benchmark
+    public void genericArrayList(ListState s)
+    {
+        s.genericArrayList.addLast(s.genericArrayList.removeFirst());
+    }
+
+    @Benchmark
+    public void genericLinkedList(ListState s)
+    {
+        s.genericLinkedList.addLast(s.genericLinkedList.removeFirst());
+    }
+
+    @Benchmark
+    public void genericCircularArrayList(ListState s)
+    {
+        s.genericCircularArrayList.addLast(s.genericCircularArrayList.removeFirst());
+    }
+
+    @Benchmark
+    public void stringArrayList(ListState s)
+    {
+        s.stringArrayList.addLast(s.stringArrayList.removeFirst());
+    }
+
+    @Benchmark
+    public void stringLinkedList(ListState s)
+    {
+        s.stringLinkedList.addLast(s.stringLinkedList.removeFirst());
+    }
+
+    @Benchmark
+    public void arrayList(ListState s)
+    {
+        s.arrayList.add(s.arrayList.remove(0));
+    }
+
+    @Benchmark
+    public void arrayDeque(ListState s)
+    {
+        s.arrayDeque.addLast(s.arrayDeque.removeFirst());
+    }
+
+    @Benchmark
+    public void linkedList(ListState s)
+    {
+        s.linkedList.addLast(s.linkedList.removeFirst());
+    }
+}
@@ -0,0 +1,31 @@
+package dk.ek.vp.homemadecollections.capacity;
+
+/**
+ * Estimates of heap usage on a 64 bit HotSpot JVM. References are assumed to be compressed to 4 bytes
+ * when the maximum heap is below 32 GB, which is the JVM default.
+ */
+public final class Footprint
+{
+    public static final int REFERENCE_BYTES = Runtime.getRuntime().maxMemory() < (32L << 30) ? 4 : 8;
+    public static final int OBJECT_HEADER_BYTES = REFERENCE_BYTES == 4 ? 12 : 16;
+    public static final int ARRAY_HEADER_BYTES = 16;
+
+    private Footprint()
+    {
+    }
+
+    public static long objectBytes(int references, int primitiveBytes)
+    {
+        return align(OBJECT_HEADER_BYTES + (long) references * REFERENCE_BYTES + primitiveBytes);
+    }
+
+    public static long referenceArrayBytes(int length)
+    {
+        return align(ARRAY_HEADER_BYTES + (long) length * REFERENCE_BYTES);
+    }
+
+    private static long align(long bytes)
+    {
+        return (bytes + 7) & ~7L;
+    }
+}
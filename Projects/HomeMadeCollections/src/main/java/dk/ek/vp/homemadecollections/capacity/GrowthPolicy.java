@@ -0,0 +1,34 @@
+package dk.ek.vp.homemadecollections.capacity;
+
+/**
+ * Decides the new capacity when an array based list is full.
+ */
+@FunctionalInterface
+public interface GrowthPolicy
+{
+    // Largest array length that the JVMs commonly allow.
+    int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    GrowthPolicy DOUBLING = factor(2.0);
+
+    /**
+     * Returns a capacity of at least minCapacity for a list that currently has room for currentCapacity elements.
+     */
+    int grow(int currentCapacity, int minCapacity);
+
+    static GrowthPolicy factor(double factor)
+    {
+        if(!(factor > 1.0)) throw new IllegalArgumentException("Growth factor must be greater than 1: " + factor);
+        return (currentCapacity, minCapacity) ->
+        {
+            long grown = Math.max((long) (currentCapacity * factor), currentCapacity + 1L);
+            return (int) Math.max(minCapacity, Math.min(grown, MAX_CAPACITY));
+        };
+    }
+
+    static GrowthPolicy increment(int increment)
+    {
+        if(increment < 1) throw new IllegalArgumentException("Growth increment must be positive: " + increment);
+        return (currentCapacity, minCapacity) -> (int) Math.max(minCapacity, Math.min((long) currentCapacity + increment, MAX_CAPACITY));
+    }
+}
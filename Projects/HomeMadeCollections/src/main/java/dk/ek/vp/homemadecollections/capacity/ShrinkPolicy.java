@@ -0,0 +1,40 @@
+package dk.ek.vp.homemadecollections.capacity;
+
+/**
+ * Decides when an array based list gives memory back. A list shrinks when it is filled less than
+ * fillRatio, and then to a capacity where it is filled twice that much. The gap between the two is the
+ * hysteresis: a list that just shrank has to lose or gain a lot of elements before it resizes again.
+ * A list never shrinks below the capacity it was created with.
+ */
+public final class ShrinkPolicy
+{
+    public static final ShrinkPolicy NEVER = new ShrinkPolicy(0.0);
+
+    private final double fillRatio;
+
+    private ShrinkPolicy(double fillRatio)
+    {
+        this.fillRatio = fillRatio;
+    }
+
+    public static ShrinkPolicy below(double fillRatio)
+    {
+        if(!(fillRatio > 0 && fillRatio < 0.5)) throw new IllegalArgumentException("Fill ratio must be between 0 and 0.5: " + fillRatio);
+        return new ShrinkPolicy(fillRatio);
+    }
+
+    public double getFillRatio()
+    {
+        return fillRatio;
+    }
+
+    public boolean shouldShrink(int size, int capacity, int minCapacity)
+    {
+        return capacity > minCapacity && size < capacity * fillRatio;
+    }
+
+    public int shrunkCapacity(int size, int minCapacity)
+    {
+        return Math.max(minCapacity, (int) Math.ceil(size / (2 * fillRatio)));
+    }
+}
@@ -8,4 +8,63 @@ public interface StringList extends Iterable<String>
     String removeLast();
     String removeFirst();
     String get(int index);
+
+    default void addAll(String[] strings)
+    {
+        for(String str : strings)
+        {
+            addLast(str);
+        }
+    }
+
+    default void addAll(Iterable<String> strings)
+    {
+        if(strings == this)
+        {
+            // Iterating the list while adding to its end would never stop, or fail, so add a copy instead.
+            addAll(toArray());
+            return;
+        }
+        for(String str : strings)
+        {
+            addLast(str);
+        }
+    }
+
+    default void removeRange(int fromIndex, int toIndex)
+    {
+        int n = size();
+        if(fromIndex < 0 || toIndex > n || fromIndex > toIndex) throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + n);
+        for(int i = 0; i < n; ++i)
+        {
+            String str = removeFirst();
+            if(i < fromIndex || i >= toIndex)
+            {
+                addLast(str);
+            }
+        }
+    }
+
+    default void clear()
+    {
+        while(size() > 0)
+        {
+            removeLast();
+        }
+    }
+
+    default String[] toArray()
+    {
+        String[] result = new String[size()];
+        int i = 0;
+        for(String str : this)
+        {
+            result[i++] = str;
+        }
+        return result;
+    }
+
+    default void ensureCapacity(int minCapacity)
+    {
+    }
 }
@@ -0,0 +1,398 @@
+package dk.ek.vp.homemadecollections.first.impl;
+
+import dk.ek.vp.homemadecollections.first.StringList;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+/**
+ * Stores all strings as UTF-8 in one shared byte array (the arena), with the start and length of each element
+ * kept in int arrays used as a circular buffer. Strings are only created when an element is read;
+ * equalsAt and compareAt work directly on the bytes.
+ * Removed elements leave garbage in the arena, which is dropped the next time the arena is reallocated.
+ * Unpaired surrogates are stored as '?', like String.getBytes does.
+ */
+public class StringArenaList implements StringList
+{
+    private static final int NULL_LENGTH = -1;
+
+    private int version;
+    private byte[] arena;
+    private int arenaUsed;
+    private int liveBytes;
+    private int[] starts;
+    private int[] lengths;
+    private int head;
+    private int size;
+
+    public StringArenaList()
+    {
+        arena = new byte[64];
+        arenaUsed = 0;
+        liveBytes = 0;
+        starts = new int[8];
+        lengths = new int[8];
+        head = 0;
+        size = 0;
+        version = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(String str)
+    {
+        ++version;
+        ensureSlots();
+        store(physicalIndex(size), str);
+        ++size;
+    }
+
+    @Override
+    public void addFirst(String str)
+    {
+        ++version;
+        ensureSlots();
+        int slot = (head == 0) ? starts.length - 1 : head - 1;
+        store(slot, str);
+        head = slot;
+        ++size;
+    }
+
+    @Override
+    public String removeLast()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        int slot = physicalIndex(size - 1);
+        String str = decode(slot);
+        release(slot);
+        --size;
+        return str;
+    }
+
+    @Override
+    public String removeFirst()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        String str = decode(head);
+        release(head);
+        head = (head + 1 == starts.length) ? 0 : head + 1;
+        --size;
+        return str;
+    }
+
+    @Override
+    public String get(int index)
+    {
+        checkIndex(index);
+        return decode(physicalIndex(index));
+    }
+
+    public boolean equalsAt(int index, CharSequence cs)
+    {
+        checkIndex(index);
+        int slot = physicalIndex(index);
+        if(lengths[slot] == NULL_LENGTH)
+        {
+            return cs == null;
+        }
+        return cs != null && compareUnits(slot, cs) == 0;
+    }
+
+    // Compares the element to cs in String.compareTo order (UTF-16 code units), without creating a String.
+    public int compareAt(int index, CharSequence cs)
+    {
+        checkIndex(index);
+        int slot = physicalIndex(index);
+        if(lengths[slot] == NULL_LENGTH || cs == null) throw new NullPointerException("Cannot compare null strings");
+        return compareUnits(slot, cs);
+    }
+
+    public int arenaCapacity()
+    {
+        return arena.length;
+    }
+
+    @Override
+    public void clear()
+    {
+        ++version;
+        arenaUsed = 0;
+        liveBytes = 0;
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity)
+    {
+        if(minCapacity > starts.length)
+        {
+            growSlots(minCapacity);
+        }
+    }
+
+    @Override
+    public Iterator<String> iterator()
+    {
+        return new StringArenaIterator();
+    }
+
+    private void checkIndex(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    private int physicalIndex(int index)
+    {
+        int i = head + index;
+        return i < starts.length ? i : i - starts.length;
+    }
+
+    private void store(int slot, String str)
+    {
+        if(str == null)
+        {
+            starts[slot] = 0;
+            lengths[slot] = NULL_LENGTH;
+            return;
+        }
+        int byteLength = utf8Length(str);
+        ensureArena(byteLength);
+        starts[slot] = arenaUsed;
+        lengths[slot] = byteLength;
+        arenaUsed = encode(str, arenaUsed);
+        liveBytes += byteLength;
+    }
+
+    private void release(int slot)
+    {
+        if(lengths[slot] != NULL_LENGTH)
+        {
+            liveBytes -= lengths[slot];
+        }
+        if(liveBytes == 0)
+        {
+            arenaUsed = 0;
+        }
+    }
+
+    private String decode(int slot)
+    {
+        int length = lengths[slot];
+        return length == NULL_LENGTH ? null : new String(arena, starts[slot], length, StandardCharsets.UTF_8);
+    }
+
+    private int compareUnits(int slot, CharSequence cs)
+    {
+        int pos = starts[slot];
+        int end = pos + lengths[slot];
+        int csLength = cs.length();
+        int i = 0;
+        char pendingLow = 0;
+        while((pos < end || pendingLow != 0) && i < csLength)
+        {
+            char unit;
+            if(pendingLow != 0)
+            {
+                unit = pendingLow;
+                pendingLow = 0;
+            }
+            else
+            {
+                int b = arena[pos] & 0xFF;
+                if(b < 0x80)
+                {
+                    unit = (char) b;
+                    pos += 1;
+                }
+                else if(b < 0xE0)
+                {
+                    unit = (char) (((b & 0x1F) << 6) | (arena[pos + 1] & 0x3F));
+                    pos += 2;
+                }
+                else if(b < 0xF0)
+                {
+                    unit = (char) (((b & 0x0F) << 12) | ((arena[pos + 1] & 0x3F) << 6) | (arena[pos + 2] & 0x3F));
+                    pos += 3;
+                }
+                else
+                {
+                    int cp = ((b & 0x07) << 18) | ((arena[pos + 1] & 0x3F) << 12) | ((arena[pos + 2] & 0x3F) << 6) | (arena[pos + 3] & 0x3F);
+                    unit = Character.highSurrogate(cp);
+                    pendingLow = Character.lowSurrogate(cp);
+                    pos += 4;
+                }
+            }
+            char other = cs.charAt(i++);
+            if(unit != other)
+            {
+                return unit - other;
+            }
+        }
+        int remaining = (pos < end || pendingLow != 0) ? 1 : 0;
+        int csRemaining = i < csLength ? 1 : 0;
+        return remaining - csRemaining;
+    }
+
+    private static int utf8Length(String str)
+    {
+        int length = 0;
+        for(int i = 0; i < str.length(); ++i)
+        {
+            char c = str.charAt(i);
+            if(c < 0x80)
+            {
+                length += 1;
+            }
+            else if(c < 0x800)
+            {
+                length += 2;
+            }
+            else if(Character.isHighSurrogate(c) && i + 1 < str.length() && Character.isLowSurrogate(str.charAt(i + 1)))
+            {
+                length += 4;
+                ++i;
+            }
+            else if(Character.isSurrogate(c))
+            {
+                length += 1;
+            }
+            else
+            {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private int encode(String str, int pos)
+    {
+        byte[] a = arena;
+        for(int i = 0; i < str.length(); ++i)
+        {
+            char c = str.charAt(i);
+            if(c < 0x80)
+            {
+                a[pos++] = (byte) c;
+            }
+            else if(c < 0x800)
+            {
+                a[pos++] = (byte) (0xC0 | (c >> 6));
+                a[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+            else if(Character.isHighSurrogate(c) && i + 1 < str.length() && Character.isLowSurrogate(str.charAt(i + 1)))
+            {
+                int cp = Character.toCodePoint(c, str.charAt(++i));
+                a[pos++] = (byte) (0xF0 | (cp >> 18));
+                a[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                a[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                a[pos++] = (byte) (0x80 | (cp & 0x3F));
+            }
+            else if(Character.isSurrogate(c))
+            {
+                a[pos++] = (byte) '?';
+            }
+            else
+            {
+                a[pos++] = (byte) (0xE0 | (c >> 12));
+                a[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                a[pos++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return pos;
+    }
+
+    private void ensureSlots()
+    {
+        if(size == starts.length)
+        {
+            growSlots(size + 1);
+        }
+    }
+
+    private void growSlots(int minCapacity)
+    {
+        int newLength = Math.max(starts.length * 2, minCapacity);
+        int[] newStarts = new int[newLength];
+        int[] newLengths = new int[newLength];
+        int firstPart = Math.min(size, starts.length - head);
+        System.arraycopy(starts, head, newStarts, 0, firstPart);
+        System.arraycopy(starts, 0, newStarts, firstPart, size - firstPart);
+        System.arraycopy(lengths, head, newLengths, 0, firstPart);
+        System.arraycopy(lengths, 0, newLengths, firstPart, size - firstPart);
+        starts = newStarts;
+        lengths = newLengths;
+        head = 0;
+    }
+
+    // Makes room for the given number of bytes. Reallocating copies only live bytes, so garbage from removed elements is dropped.
+    private void ensureArena(int needed)
+    {
+        if(arena.length - arenaUsed >= needed)
+        {
+            return;
+        }
+        long required = (long) liveBytes + needed;
+        if(required > Integer.MAX_VALUE - 8) throw new IllegalStateException("Arena is too large");
+        int newLength = arena.length;
+        if(required > arena.length / 2)
+        {
+            newLength = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(2L * arena.length, 2L * required));
+        }
+        byte[] newArena = new byte[newLength];
+        int pos = 0;
+        for(int i = 0; i < size; ++i)
+        {
+            int slot = physicalIndex(i);
+            int length = lengths[slot];
+            if(length > 0)
+            {
+                System.arraycopy(arena, starts[slot], newArena, pos, length);
+                starts[slot] = pos;
+                pos += length;
+            }
+        }
+        arena = newArena;
+        arenaUsed = pos;
+    }
+
+    private class StringArenaIterator implements Iterator<String>
+    {
+        private final int curVersion;
+        private int curIndex;
+
+        public StringArenaIterator()
+        {
+            curVersion = version;
+            curIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return curIndex < size;
+        }
+
+        @Override
+        public String next()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return decode(physicalIndex(curIndex++));
+        }
+    }
+}
@@ -1,21 +1,47 @@
 package dk.ek.vp.homemadecollections.first.impl;
 
+import dk.ek.vp.homemadecollections.capacity.Footprint;
+import dk.ek.vp.homemadecollections.capacity.GrowthPolicy;
+import dk.ek.vp.homemadecollections.capacity.ShrinkPolicy;
 import dk.ek.vp.homemadecollections.first.StringList;
+import dk.ek.vp.homemadecollections.instrumentation.Instrumentation;
+import dk.ek.vp.homemadecollections.instrumentation.Instrumented;
+import dk.ek.vp.homemadecollections.instrumentation.OperationCounters;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 
-public class StringArrayList implements StringList
+public class StringArrayList implements StringList, Instrumented
 {
     private int version;
     private String[] array;
     private int size;
+    private final OperationCounters counters = OperationCounters.create(this);
+    private final GrowthPolicy growthPolicy;
+    private final ShrinkPolicy shrinkPolicy;
+    private final int initialCapacity;
 
     public StringArrayList()
     {
-        array = new String[8];
+        this(8);
+    }
+
+    public StringArrayList(int initialCapacity)
+    {
+        this(initialCapacity, GrowthPolicy.DOUBLING, ShrinkPolicy.NEVER);
+    }
+
+    public StringArrayList(int initialCapacity, GrowthPolicy growthPolicy, ShrinkPolicy shrinkPolicy)
+    {
+        if(initialCapacity < 0) throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        array = new String[initialCapacity];
         size = 0;
         version = 0;
+        this.growthPolicy = growthPolicy;
+        this.shrinkPolicy = shrinkPolicy;
+        this.initialCapacity = initialCapacity;
     }
 
     @Override
@@ -37,6 +63,7 @@ public class StringArrayList implements StringList
     {
         ++version;
         ensureCapacity();
+        if(Instrumentation.ENABLED) counters.shifted(size);
         for(int i = size; i > 0; --i)
         {
             array[i] = array[i-1];
@@ -50,7 +77,9 @@ public class StringArrayList implements StringList
     {
         if(size == 0) throw new RuntimeException("List is empty");
         ++version;
-        return array[--size];
+        String str = array[--size];
+        shrinkIfNeeded();
+        return str;
     }
 
     @Override
@@ -60,10 +89,12 @@ public class StringArrayList implements StringList
         ++version;
         String str = array[0];
         --size;
+        if(Instrumentation.ENABLED) counters.shifted(size);
         for(int i = 0; i < size; ++i)
         {
             array[i] = array[i+1];
         }
+        shrinkIfNeeded();
         return str;
     }
 
@@ -74,6 +105,106 @@ public class StringArrayList implements StringList
         return array[index];
     }
 
+    @Override
+    public void addAll(String[] strings)
+    {
+        ++version;
+        ensureCapacity(size + strings.length);
+        System.arraycopy(strings, 0, array, size, strings.length);
+        size += strings.length;
+    }
+
+    @Override
+    public void addAll(Iterable<String> strings)
+    {
+        if(strings instanceof StringArrayList other)
+        {
+            int n = other.size;
+            ++version;
+            ensureCapacity(size + n);
+            System.arraycopy(other.array, 0, array, size, n);
+            size += n;
+            return;
+        }
+        if(strings instanceof StringList other)
+        {
+            ensureCapacity(size + other.size());
+        }
+        else if(strings instanceof Collection<String> other)
+        {
+            ensureCapacity(size + other.size());
+        }
+        ++version;
+        for(String str : strings)
+        {
+            ensureCapacity();
+            array[size++] = str;
+        }
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex)
+    {
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        ++version;
+        int newSize = size - (toIndex - fromIndex);
+        if(Instrumentation.ENABLED) counters.shifted(size - toIndex);
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
+        shrinkIfNeeded();
+    }
+
+    @Override
+    public void clear()
+    {
+        ++version;
+        Arrays.fill(array, 0, size, null);
+        size = 0;
+        shrinkIfNeeded();
+    }
+
+    @Override
+    public String[] toArray()
+    {
+        return Arrays.copyOf(array, size);
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity)
+    {
+        if(minCapacity > array.length)
+        {
+            grow(minCapacity);
+        }
+    }
+
+    public void trimToSize()
+    {
+        if(array.length != size)
+        {
+            resize(size);
+        }
+    }
+
+    public int capacity()
+    {
+        return array.length;
+    }
+
+    // Bytes held by the list itself and its backing array, not counting the strings.
+    // The list object has 4 reference fields and 12 bytes of primitive fields.
+    public long footprint()
+    {
+        return Footprint.objectBytes(4, 12) + Footprint.referenceArrayBytes(array.length);
+    }
+
+    @Override
+    public OperationCounters operationCounters()
+    {
+        return counters;
+    }
+
     @Override
     public Iterator<String> iterator()
     {
@@ -84,17 +215,28 @@ public class StringArrayList implements StringList
     {
         if(size == array.length)
         {
-            doubleArray();
+            grow(size + 1);
         }
     }
 
-    private void doubleArray()
+    private void grow(int minCapacity)
     {
-        String[] newArray = new String[array.length*2];
-        for(int i = 0; i < size; ++i)
+        resize(Math.max(minCapacity, growthPolicy.grow(array.length, minCapacity)));
+    }
+
+    private void shrinkIfNeeded()
+    {
+        if(shrinkPolicy.shouldShrink(size, array.length, initialCapacity))
         {
-            newArray[i] = array[i];
+            resize(shrinkPolicy.shrunkCapacity(size, initialCapacity));
         }
+    }
+
+    private void resize(int capacity)
+    {
+        String[] newArray = new String[capacity];
+        if(Instrumentation.ENABLED) counters.resized(array.length, newArray.length);
+        System.arraycopy(array, 0, newArray, 0, size);
         array = newArray;
     }
 
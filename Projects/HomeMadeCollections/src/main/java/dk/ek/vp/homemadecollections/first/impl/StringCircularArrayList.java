@@ -0,0 +1,225 @@
+package dk.ek.vp.homemadecollections.first.impl;
+
+import dk.ek.vp.homemadecollections.first.StringList;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+public class StringCircularArrayList implements StringList
+{
+    private int version;
+    private String[] array;
+    private int head;
+    private int size;
+
+    public StringCircularArrayList()
+    {
+        array = new String[8];
+        head = 0;
+        size = 0;
+        version = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(String str)
+    {
+        ++version;
+        ensureCapacity();
+        array[physicalIndex(size)] = str;
+        ++size;
+    }
+
+    @Override
+    public void addFirst(String str)
+    {
+        ++version;
+        ensureCapacity();
+        head = (head == 0) ? array.length - 1 : head - 1;
+        array[head] = str;
+        ++size;
+    }
+
+    @Override
+    public String removeLast()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        int index = physicalIndex(--size);
+        String str = array[index];
+        array[index] = null;
+        return str;
+    }
+
+    @Override
+    public String removeFirst()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        String str = array[head];
+        array[head] = null;
+        head = (head + 1 == array.length) ? 0 : head + 1;
+        --size;
+        return str;
+    }
+
+    @Override
+    public String get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return array[physicalIndex(index)];
+    }
+
+    @Override
+    public void addAll(String[] strings)
+    {
+        ++version;
+        ensureCapacity(size + strings.length);
+        int tail = physicalIndex(size);
+        int firstPart = Math.min(strings.length, array.length - tail);
+        System.arraycopy(strings, 0, array, tail, firstPart);
+        System.arraycopy(strings, firstPart, array, 0, strings.length - firstPart);
+        size += strings.length;
+    }
+
+    @Override
+    public void addAll(Iterable<String> strings)
+    {
+        if(strings == this)
+        {
+            // The loop below would never catch up with its own tail.
+            addAll(toArray());
+            return;
+        }
+        if(strings instanceof StringList other)
+        {
+            ensureCapacity(size + other.size());
+        }
+        else if(strings instanceof Collection<String> other)
+        {
+            ensureCapacity(size + other.size());
+        }
+        ++version;
+        for(String str : strings)
+        {
+            ensureCapacity();
+            array[physicalIndex(size)] = str;
+            ++size;
+        }
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex)
+    {
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        ++version;
+        int removed = toIndex - fromIndex;
+        for(int i = fromIndex; i < size - removed; ++i)
+        {
+            array[physicalIndex(i)] = array[physicalIndex(i + removed)];
+        }
+        for(int i = size - removed; i < size; ++i)
+        {
+            array[physicalIndex(i)] = null;
+        }
+        size -= removed;
+    }
+
+    @Override
+    public void clear()
+    {
+        ++version;
+        Arrays.fill(array, null);
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    public String[] toArray()
+    {
+        String[] result = new String[size];
+        int firstPart = Math.min(size, array.length - head);
+        System.arraycopy(array, head, result, 0, firstPart);
+        System.arraycopy(array, 0, result, firstPart, size - firstPart);
+        return result;
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity)
+    {
+        if(minCapacity > array.length)
+        {
+            grow(minCapacity);
+        }
+    }
+
+    @Override
+    public Iterator<String> iterator()
+    {
+        return new StringCircularArrayIterator();
+    }
+
+    private int physicalIndex(int index)
+    {
+        int i = head + index;
+        return i < array.length ? i : i - array.length;
+    }
+
+    private void ensureCapacity()
+    {
+        if(size == array.length)
+        {
+            grow(size + 1);
+        }
+    }
+
+    private void grow(int minCapacity)
+    {
+        String[] newArray = new String[Math.max(array.length*2, minCapacity)];
+        int firstPart = Math.min(size, array.length - head);
+        System.arraycopy(array, head, newArray, 0, firstPart);
+        System.arraycopy(array, 0, newArray, firstPart, size - firstPart);
+        array = newArray;
+        head = 0;
+    }
+
+    private class StringCircularArrayIterator implements Iterator<String>
+    {
+        private final int curVersion;
+        private int curIndex;
+
+
+        public StringCircularArrayIterator()
+        {
+            curVersion = version;
+            curIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return curIndex < size;
+        }
+
+        @Override
+        public String next()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return array[physicalIndex(curIndex++)];
+        }
+    }
+}
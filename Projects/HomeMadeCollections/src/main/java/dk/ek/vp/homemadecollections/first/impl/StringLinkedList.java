@@ -1,15 +1,19 @@
 package dk.ek.vp.homemadecollections.first.impl;
 
 import dk.ek.vp.homemadecollections.first.StringList;
+import dk.ek.vp.homemadecollections.instrumentation.Instrumentation;
+import dk.ek.vp.homemadecollections.instrumentation.Instrumented;
+import dk.ek.vp.homemadecollections.instrumentation.OperationCounters;
 
 import java.util.Iterator;
 
-public class StringLinkedList implements StringList
+public class StringLinkedList implements StringList, Instrumented
 {
     private int curVersion;
     private StringListNode first;
     private StringListNode last;
     private int size;
+    private final OperationCounters counters = OperationCounters.create(this);
 
     public StringLinkedList()
     {
@@ -110,23 +114,159 @@ public class StringLinkedList implements StringList
         return temp.getValue();
     }
 
+    @Override
+    public void addAll(String[] strings)
+    {
+        StringListNode chainFirst = null;
+        StringListNode chainLast = null;
+        for(String str : strings)
+        {
+            chainLast = linkNew(chainLast, str);
+            if(chainFirst == null)
+            {
+                chainFirst = chainLast;
+            }
+        }
+        spliceLast(chainFirst, chainLast, strings.length);
+    }
+
+    @Override
+    public void addAll(Iterable<String> strings)
+    {
+        StringListNode chainFirst = null;
+        StringListNode chainLast = null;
+        int n = 0;
+        for(String str : strings)
+        {
+            chainLast = linkNew(chainLast, str);
+            if(chainFirst == null)
+            {
+                chainFirst = chainLast;
+            }
+            ++n;
+        }
+        spliceLast(chainFirst, chainLast, n);
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex)
+    {
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        if(fromIndex == toIndex)
+        {
+            return;
+        }
+        StringListNode from = nodeAt(fromIndex);
+        StringListNode to = from;
+        if(Instrumentation.ENABLED) counters.traversed(toIndex - fromIndex - 1);
+        for(int i = fromIndex; i < toIndex - 1; ++i)
+        {
+            to = to.getNext();
+        }
+        StringListNode before = from.getPrev();
+        StringListNode after = to.getNext();
+        if(before == null)
+        {
+            first = after;
+        }
+        else
+        {
+            before.setNext(after);
+        }
+        if(after == null)
+        {
+            last = before;
+        }
+        else
+        {
+            after.setPrev(before);
+        }
+        size -= toIndex - fromIndex;
+        ++curVersion;
+    }
+
+    @Override
+    public void clear()
+    {
+        first = null;
+        last = null;
+        size = 0;
+        ++curVersion;
+    }
+
+    @Override
+    public String[] toArray()
+    {
+        String[] result = new String[size];
+        int i = 0;
+        for(StringListNode cur = first; cur != null; cur = cur.getNext())
+        {
+            result[i++] = cur.getValue();
+        }
+        return result;
+    }
+
     @Override
     public String get(int index)
     {
         if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return nodeAt(index).getValue();
+    }
+
+    @Override
+    public OperationCounters operationCounters()
+    {
+        return counters;
+    }
+
+    @Override
+    public Iterator<String> iterator()
+    {
+        return new  StringListIterator();
+    }
+
+    private StringListNode nodeAt(int index)
+    {
+        if(Instrumentation.ENABLED) counters.traversed(index);
         StringListNode cur = first;
         while(index > 0)
         {
             cur = cur.getNext();
             --index;
         }
-        return cur.getValue();
+        return cur;
     }
 
-    @Override
-    public Iterator<String> iterator()
+    // Creates a node after the given tail of a chain that is not yet part of the list.
+    private StringListNode linkNew(StringListNode tail, String str)
     {
-        return new  StringListIterator();
+        StringListNode newNode = new StringListNode(str);
+        if(tail != null)
+        {
+            tail.setNext(newNode);
+            newNode.setPrev(tail);
+        }
+        return newNode;
+    }
+
+    private void spliceLast(StringListNode chainFirst, StringListNode chainLast, int n)
+    {
+        if(n == 0)
+        {
+            return;
+        }
+        if(last == null)
+        {
+            first = chainFirst;
+        }
+        else
+        {
+            last.setNext(chainFirst);
+            chainFirst.setPrev(last);
+        }
+        last = chainLast;
+        size += n;
+        ++curVersion;
     }
 
     private class StringListIterator implements Iterator<String>
@@ -0,0 +1,22 @@
+package dk.ek.vp.homemadecollections.generic;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Encodes elements of type E into a fixed number of bytes, so they can be stored outside the Java heap.
+ */
+public interface ElementCodec<E>
+{
+    long byteSize();
+    void write(MemorySegment segment, long offset, E element);
+    E read(MemorySegment segment, long offset);
+
+    /**
+     * Decodes into the given holder when E is mutable, so reading does not allocate.
+     * The default simply allocates a new element.
+     */
+    default E readInto(MemorySegment segment, long offset, E holder)
+    {
+        return read(segment, offset);
+    }
+}
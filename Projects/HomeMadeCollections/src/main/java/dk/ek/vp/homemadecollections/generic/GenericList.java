@@ -1,5 +1,12 @@
 package dk.ek.vp.homemadecollections.generic;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public interface GenericList<E> extends Iterable<E>
 {
     int size();
@@ -8,4 +15,119 @@ public interface GenericList<E> extends Iterable<E>
     E removeLast();
     E removeFirst();
     E get(int index);
+
+    default void addAll(E[] elements)
+    {
+        for(E element : elements)
+        {
+            addLast(element);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    default void addAll(Iterable<? extends E> elements)
+    {
+        if(elements == this)
+        {
+            // Iterating the list while adding to its end would never stop, or fail, so add a copy instead.
+            addAll((E[]) toArray());
+            return;
+        }
+        for(E element : elements)
+        {
+            addLast(element);
+        }
+    }
+
+    default void removeRange(int fromIndex, int toIndex)
+    {
+        int n = size();
+        if(fromIndex < 0 || toIndex > n || fromIndex > toIndex) throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + n);
+        for(int i = 0; i < n; ++i)
+        {
+            E element = removeFirst();
+            if(i < fromIndex || i >= toIndex)
+            {
+                addLast(element);
+            }
+        }
+    }
+
+    default void clear()
+    {
+        while(size() > 0)
+        {
+            removeLast();
+        }
+    }
+
+    default Object[] toArray()
+    {
+        Object[] result = new Object[size()];
+        int i = 0;
+        for(E element : this)
+        {
+            result[i++] = element;
+        }
+        return result;
+    }
+
+    default void ensureCapacity(int minCapacity)
+    {
+    }
+
+    @SuppressWarnings("unchecked")
+    default void sort(Comparator<? super E> comparator)
+    {
+        Object[] elements = toArray();
+        Arrays.sort(elements, (Comparator<Object>) comparator);
+        clear();
+        addAll((E[]) elements);
+    }
+
+    default void parallelSort(Comparator<? super E> comparator)
+    {
+        sort(comparator);
+    }
+
+    // The list must be sorted by the comparator. Returns the index of the key, or (-(insertion point) - 1).
+    default int binarySearch(E key, Comparator<? super E> comparator)
+    {
+        int lo = 0;
+        int hi = size() - 1;
+        while(lo <= hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            int c = comparator.compare(get(mid), key);
+            if(c < 0)
+            {
+                lo = mid + 1;
+            }
+            else if(c > 0)
+            {
+                hi = mid - 1;
+            }
+            else
+            {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    @Override
+    default Spliterator<E> spliterator()
+    {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    default Stream<E> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    default Stream<E> parallelStream()
+    {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -0,0 +1,34 @@
+package dk.ek.vp.homemadecollections.generic;
+
+import java.util.function.BiConsumer;
+
+public interface GenericMap<K, V>
+{
+    int size();
+    V get(K key);
+    V put(K key, V value);
+    V remove(K key);
+    boolean containsKey(K key);
+    void clear();
+    void forEach(BiConsumer<? super K, ? super V> action);
+    Cursor<K, V> cursor();
+
+    default boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    default V getOrDefault(K key, V defaultValue)
+    {
+        V value = get(key);
+        return (value != null || containsKey(key)) ? value : defaultValue;
+    }
+
+    // Walks the entries without creating an object per entry: while(cursor.advance()) { cursor.key() ... }
+    interface Cursor<K, V>
+    {
+        boolean advance();
+        K key();
+        V value();
+    }
+}
@@ -0,0 +1,15 @@
+package dk.ek.vp.homemadecollections.generic;
+
+public interface GenericPriorityQueue<E>
+{
+    int size();
+    void add(E element);
+    E peek();
+    E poll();
+    void clear();
+
+    default boolean isEmpty()
+    {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,22 @@
+package dk.ek.vp.homemadecollections.generic;
+
+/**
+ * A priority queue that hands out an int handle for each element, so the element can later be
+ * found again to lower its priority or remove it. A handle is valid until its element leaves the queue,
+ * after which it may be reused.
+ */
+public interface IndexedPriorityQueue<E> extends GenericPriorityQueue<E>
+{
+    int insert(E element);
+    int peekHandle();
+    E get(int handle);
+    boolean contains(int handle);
+    void decreaseKey(int handle, E element);
+    E remove(int handle);
+
+    @Override
+    default void add(E element)
+    {
+        insert(element);
+    }
+}
@@ -0,0 +1,8 @@
+package dk.ek.vp.homemadecollections.generic;
+
+public interface PositionalList<E> extends GenericList<E>
+{
+    void add(int index, E element);
+    E remove(int index);
+    E set(int index, E element);
+}
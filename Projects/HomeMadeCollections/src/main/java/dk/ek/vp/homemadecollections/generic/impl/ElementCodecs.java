@@ -0,0 +1,76 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.ElementCodec;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+public final class ElementCodecs
+{
+    public static final ElementCodec<Integer> INT = new ElementCodec<>()
+    {
+        @Override
+        public long byteSize()
+        {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(MemorySegment segment, long offset, Integer element)
+        {
+            segment.set(ValueLayout.JAVA_INT_UNALIGNED, offset, element);
+        }
+
+        @Override
+        public Integer read(MemorySegment segment, long offset)
+        {
+            return segment.get(ValueLayout.JAVA_INT_UNALIGNED, offset);
+        }
+    };
+
+    public static final ElementCodec<Long> LONG = new ElementCodec<>()
+    {
+        @Override
+        public long byteSize()
+        {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(MemorySegment segment, long offset, Long element)
+        {
+            segment.set(ValueLayout.JAVA_LONG_UNALIGNED, offset, element);
+        }
+
+        @Override
+        public Long read(MemorySegment segment, long offset)
+        {
+            return segment.get(ValueLayout.JAVA_LONG_UNALIGNED, offset);
+        }
+    };
+
+    public static final ElementCodec<Double> DOUBLE = new ElementCodec<>()
+    {
+        @Override
+        public long byteSize()
+        {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(MemorySegment segment, long offset, Double element)
+        {
+            segment.set(ValueLayout.JAVA_DOUBLE_UNALIGNED, offset, element);
+        }
+
+        @Override
+        public Double read(MemorySegment segment, long offset)
+        {
+            return segment.get(ValueLayout.JAVA_DOUBLE_UNALIGNED, offset);
+        }
+    };
+
+    private ElementCodecs()
+    {
+    }
+}
@@ -1,23 +1,77 @@
 package dk.ek.vp.homemadecollections.generic.impl;
 
+import dk.ek.vp.homemadecollections.capacity.Footprint;
+import dk.ek.vp.homemadecollections.capacity.GrowthPolicy;
+import dk.ek.vp.homemadecollections.capacity.ShrinkPolicy;
 import dk.ek.vp.homemadecollections.first.StringList;
 import dk.ek.vp.homemadecollections.generic.GenericList;
+import dk.ek.vp.homemadecollections.instrumentation.Instrumentation;
+import dk.ek.vp.homemadecollections.instrumentation.Instrumented;
+import dk.ek.vp.homemadecollections.instrumentation.OperationCounters;
 
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
-public class GenericArrayList<E> implements GenericList<E>
+public class GenericArrayList<E> implements GenericList<E>, Instrumented
 {
     private int version;
     private E[] array;
     private int size;
+    private final OperationCounters counters = OperationCounters.create(this);
+    private final GrowthPolicy growthPolicy;
+    private final ShrinkPolicy shrinkPolicy;
+    private final int initialCapacity;
+
+    // Snapshot iteration: writes are bracketed by writeSequence (odd while writing, like a seqlock),
+    // and shared tells the writer that an iterator may still be reading the current array.
+    private final boolean snapshotIteration;
+    private volatile int writeSequence;
+    private volatile boolean shared;
 
-    @SuppressWarnings("unchecked")
     public GenericArrayList()
     {
-        array = (E[]) new Object[8];
+        this(8);
+    }
+
+    public GenericArrayList(int initialCapacity)
+    {
+        this(initialCapacity, GrowthPolicy.DOUBLING, ShrinkPolicy.NEVER, false);
+    }
+
+    public GenericArrayList(int initialCapacity, GrowthPolicy growthPolicy, ShrinkPolicy shrinkPolicy)
+    {
+        this(initialCapacity, growthPolicy, shrinkPolicy, false);
+    }
+
+    /**
+     * With snapshotIteration, iterators see the list as it was when they were created instead of
+     * throwing ConcurrentModificationException. One writer thread may then run concurrently with any
+     * number of iterating threads. Appends write in place; other changes copy the array first,
+     * but only if an iterator has been created since the last copy.
+     */
+    public GenericArrayList(boolean snapshotIteration)
+    {
+        this(8, GrowthPolicy.DOUBLING, ShrinkPolicy.NEVER, snapshotIteration);
+    }
+
+    @SuppressWarnings("unchecked")
+    public GenericArrayList(int initialCapacity, GrowthPolicy growthPolicy, ShrinkPolicy shrinkPolicy, boolean snapshotIteration)
+    {
+        if(initialCapacity < 0) throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        array = (E[]) new Object[initialCapacity];
         size = 0;
         version = 0;
+        this.growthPolicy = growthPolicy;
+        this.shrinkPolicy = shrinkPolicy;
+        this.initialCapacity = initialCapacity;
+        this.snapshotIteration = snapshotIteration;
     }
 
     @Override
@@ -29,43 +83,56 @@ public class GenericArrayList<E> implements GenericList<E>
     @Override
     public void addLast(E element)
     {
+        beginWrite(false);
         ++version;
         ensureCapacity();
         array[size++] = element;
+        endWrite();
     }
 
     @Override
     public void addFirst(E element)
     {
+        beginWrite(true);
         ++version;
         ensureCapacity();
+        if(Instrumentation.ENABLED) counters.shifted(size);
         for(int i = size; i > 0; --i)
         {
             array[i] = array[i-1];
         }
         array[0] = element;
         ++size;
+        endWrite();
     }
 
     @Override
     public E removeLast()
     {
         if(size == 0) throw new RuntimeException("List is empty");
+        beginWrite(true);
         ++version;
-        return array[--size];
+        E element = array[--size];
+        shrinkIfNeeded();
+        endWrite();
+        return element;
     }
 
     @Override
     public E removeFirst()
     {
         if(size == 0) throw new RuntimeException("List is empty");
+        beginWrite(true);
         ++version;
         E element = array[0];
         --size;
+        if(Instrumentation.ENABLED) counters.shifted(size);
         for(int i = 0; i < size; ++i)
         {
             array[i] = array[i+1];
         }
+        shrinkIfNeeded();
+        endWrite();
         return element;
     }
 
@@ -76,28 +143,328 @@ public class GenericArrayList<E> implements GenericList<E>
         return array[index];
     }
 
+    @Override
+    public void addAll(E[] elements)
+    {
+        beginWrite(false);
+        ++version;
+        reserve(size + elements.length);
+        System.arraycopy(elements, 0, array, size, elements.length);
+        size += elements.length;
+        endWrite();
+    }
+
+    @Override
+    public void addAll(Iterable<? extends E> elements)
+    {
+        beginWrite(false);
+        ++version;
+        if(elements instanceof GenericArrayList<? extends E> other)
+        {
+            int n = other.size;
+            reserve(size + n);
+            System.arraycopy(other.array, 0, array, size, n);
+            size += n;
+        }
+        else
+        {
+            if(elements instanceof GenericList<? extends E> other)
+            {
+                reserve(size + other.size());
+            }
+            else if(elements instanceof Collection<? extends E> other)
+            {
+                reserve(size + other.size());
+            }
+            for(E element : elements)
+            {
+                ensureCapacity();
+                array[size++] = element;
+            }
+        }
+        endWrite();
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex)
+    {
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        beginWrite(true);
+        ++version;
+        int newSize = size - (toIndex - fromIndex);
+        if(Instrumentation.ENABLED) counters.shifted(size - toIndex);
+        System.arraycopy(array, toIndex, array, fromIndex, size - toIndex);
+        Arrays.fill(array, newSize, size, null);
+        size = newSize;
+        shrinkIfNeeded();
+        endWrite();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void clear()
+    {
+        beginWrite(false);
+        ++version;
+        if(shared)
+        {
+            array = (E[]) new Object[array.length];
+            shared = false;
+        }
+        else
+        {
+            Arrays.fill(array, 0, size, null);
+        }
+        size = 0;
+        shrinkIfNeeded();
+        endWrite();
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        return Arrays.copyOf(array, size, Object[].class);
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity)
+    {
+        if(minCapacity > array.length)
+        {
+            beginWrite(false);
+            grow(minCapacity);
+            endWrite();
+        }
+    }
+
+    @Override
+    public void sort(Comparator<? super E> comparator)
+    {
+        beginWrite(true);
+        ++version;
+        try
+        {
+            GenericArraySorter.sort(array, 0, size, comparator);
+        }
+        finally
+        {
+            endWrite();
+        }
+    }
+
+    @Override
+    public void parallelSort(Comparator<? super E> comparator)
+    {
+        beginWrite(true);
+        ++version;
+        try
+        {
+            GenericArraySorter.parallelSort(array, 0, size, comparator);
+        }
+        finally
+        {
+            endWrite();
+        }
+    }
+
+    @Override
+    public int binarySearch(E key, Comparator<? super E> comparator)
+    {
+        int lo = 0;
+        int hi = size - 1;
+        while(lo <= hi)
+        {
+            int mid = (lo + hi) >>> 1;
+            int c = comparator.compare(array[mid], key);
+            if(c < 0)
+            {
+                lo = mid + 1;
+            }
+            else if(c > 0)
+            {
+                hi = mid - 1;
+            }
+            else
+            {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    @Override
+    public OperationCounters operationCounters()
+    {
+        return counters;
+    }
+
+    public void trimToSize()
+    {
+        if(array.length != size)
+        {
+            beginWrite(false);
+            resize(size);
+            endWrite();
+        }
+    }
+
+    public int capacity()
+    {
+        return array.length;
+    }
+
+    // Bytes held by the list itself and its backing array, not counting the elements.
+    // The list object has 4 reference fields and 18 bytes of primitive fields.
+    public long footprint()
+    {
+        return Footprint.objectBytes(4, 18) + Footprint.referenceArrayBytes(array.length);
+    }
+
+    public boolean isSnapshotIteration()
+    {
+        return snapshotIteration;
+    }
+
     @Override
     public Iterator<E> iterator()
     {
+        if(snapshotIteration)
+        {
+            Snapshot<E> snapshot = takeSnapshot();
+            return new SnapshotIterator<>(snapshot.array(), snapshot.size());
+        }
         return new GenericArrayIterator();
     }
 
+    @Override
+    public Spliterator<E> spliterator()
+    {
+        if(snapshotIteration)
+        {
+            Snapshot<E> snapshot = takeSnapshot();
+            return new GenericArraySpliterator(snapshot.array(), 0, snapshot.size(), 0, false);
+        }
+        return new GenericArraySpliterator(null, 0, -1, version, true);
+    }
+
+    // Only does anything in snapshot mode. A destructive write changes slots an iterator may be reading,
+    // so it copies the array first if an iterator has seen it.
+    private void beginWrite(boolean destructive)
+    {
+        if(snapshotIteration)
+        {
+            writeSequence = writeSequence + 1;
+            VarHandle.storeStoreFence();
+            if(destructive && shared)
+            {
+                array = Arrays.copyOf(array, array.length);
+                shared = false;
+            }
+        }
+    }
+
+    private void endWrite()
+    {
+        if(snapshotIteration)
+        {
+            writeSequence = writeSequence + 1;
+        }
+    }
+
+    // Reads array and size as a consistent pair, retrying if a write was in progress.
+    // Marking the array as shared before reading it makes the next destructive write copy it.
+    private Snapshot<E> takeSnapshot()
+    {
+        while(true)
+        {
+            shared = true;
+            int sequence = writeSequence;
+            if((sequence & 1) != 0)
+            {
+                Thread.onSpinWait();
+                continue;
+            }
+            E[] a = array;
+            int n = size;
+            VarHandle.acquireFence();
+            if(writeSequence == sequence && shared)
+            {
+                return new Snapshot<>(a, n);
+            }
+        }
+    }
+
+    // Like ensureCapacity(int), for use inside a write that is already in progress.
+    private void reserve(int minCapacity)
+    {
+        if(minCapacity > array.length)
+        {
+            grow(minCapacity);
+        }
+    }
+
     private void ensureCapacity()
     {
         if(size == array.length)
         {
-            doubleArray();
+            grow(size + 1);
         }
     }
 
+    private void grow(int minCapacity)
+    {
+        resize(Math.max(minCapacity, growthPolicy.grow(array.length, minCapacity)));
+    }
+
+    private void shrinkIfNeeded()
+    {
+        if(shrinkPolicy.shouldShrink(size, array.length, initialCapacity))
+        {
+            resize(shrinkPolicy.shrunkCapacity(size, initialCapacity));
+        }
+    }
+
+    // Moves the elements to a new array. The old array is left untouched, so snapshots of it stay valid.
     @SuppressWarnings("unchecked")
-    private void doubleArray()
+    private void resize(int capacity)
     {
-        E[] newArray = (E[]) new Object[array.length*2];
-        if (size >= 0) System.arraycopy(array, 0, newArray, 0, size);
+        E[] newArray = (E[]) new Object[capacity];
+        if(Instrumentation.ENABLED) counters.resized(array.length, newArray.length);
+        System.arraycopy(array, 0, newArray, 0, size);
         array = newArray;
     }
 
+    private record Snapshot<E>(E[] array, int size)
+    {
+    }
+
+    private static class SnapshotIterator<E> implements Iterator<E>
+    {
+        private final E[] array;
+        private final int size;
+        private int curIndex;
+
+        public SnapshotIterator(E[] array, int size)
+        {
+            this.array = array;
+            this.size = size;
+            curIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return curIndex < size;
+        }
+
+        @Override
+        public E next()
+        {
+            if(curIndex >= size) throw new NoSuchElementException();
+            return array[curIndex++];
+        }
+    }
+
     private class GenericArrayIterator implements Iterator<E>
     {
         private final int curVersion;
@@ -130,4 +497,97 @@ public class GenericArrayList<E> implements GenericList<E>
             return array[curIndex++];
         }
     }
+
+    // Splits by index range. Without snapshot mode it binds to the list lazily and checks the version;
+    // in snapshot mode it is created bound to a snapshot and never fails.
+    private class GenericArraySpliterator implements Spliterator<E>
+    {
+        private E[] a;
+        private int index;
+        private int fence; // -1 until first use, then one past the last index
+        private int expectedVersion;
+        private final boolean checked;
+
+        public GenericArraySpliterator(E[] a, int origin, int fence, int expectedVersion, boolean checked)
+        {
+            this.a = a;
+            this.index = origin;
+            this.fence = fence;
+            this.expectedVersion = expectedVersion;
+            this.checked = checked;
+        }
+
+        // Binds to the list lazily, so the spliterator sees changes made before traversal starts.
+        private int getFence()
+        {
+            if(fence < 0)
+            {
+                expectedVersion = version;
+                a = array;
+                fence = size;
+            }
+            return fence;
+        }
+
+        private void checkVersion()
+        {
+            if(checked && expectedVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit()
+        {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            if(lo >= mid)
+            {
+                return null;
+            }
+            index = mid;
+            return new GenericArraySpliterator(a, lo, mid, expectedVersion, checked);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action)
+        {
+            int hi = getFence();
+            if(index >= hi)
+            {
+                return false;
+            }
+            E element = a[index++];
+            action.accept(element);
+            checkVersion();
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action)
+        {
+            int hi = getFence();
+            E[] elements = a;
+            for(int i = index; i < hi; ++i)
+            {
+                action.accept(elements[i]);
+            }
+            index = hi;
+            checkVersion();
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable merge sort on a range of an array, used by the array based lists.
+ * Short runs are insertion sorted, and the parallel version splits large ranges into fork-join tasks.
+ */
+final class GenericArraySorter
+{
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private GenericArraySorter()
+    {
+    }
+
+    static <E> void sort(E[] array, int fromIndex, int toIndex, Comparator<? super E> comparator)
+    {
+        if(toIndex - fromIndex < 2) return;
+        Object[] buffer = new Object[toIndex - fromIndex];
+        mergeSort(array, buffer, fromIndex, toIndex, fromIndex, comparator);
+    }
+
+    static <E> void parallelSort(E[] array, int fromIndex, int toIndex, Comparator<? super E> comparator)
+    {
+        if(toIndex - fromIndex <= PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2)
+        {
+            sort(array, fromIndex, toIndex, comparator);
+            return;
+        }
+        Object[] buffer = new Object[toIndex - fromIndex];
+        ForkJoinPool.commonPool().invoke(new SortTask<>(array, buffer, fromIndex, toIndex, fromIndex, comparator));
+    }
+
+    // buffer[i - offset] is scratch space for array[i].
+    private static <E> void mergeSort(E[] array, Object[] buffer, int lo, int hi, int offset, Comparator<? super E> comparator)
+    {
+        if(hi - lo <= INSERTION_SORT_THRESHOLD)
+        {
+            insertionSort(array, lo, hi, comparator);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        mergeSort(array, buffer, lo, mid, offset, comparator);
+        mergeSort(array, buffer, mid, hi, offset, comparator);
+        merge(array, buffer, lo, mid, hi, offset, comparator);
+    }
+
+    private static <E> void insertionSort(E[] array, int lo, int hi, Comparator<? super E> comparator)
+    {
+        for(int i = lo + 1; i < hi; ++i)
+        {
+            E element = array[i];
+            int j = i;
+            while(j > lo && comparator.compare(array[j-1], element) > 0)
+            {
+                array[j] = array[j-1];
+                --j;
+            }
+            array[j] = element;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> void merge(E[] array, Object[] buffer, int lo, int mid, int hi, int offset, Comparator<? super E> comparator)
+    {
+        if(comparator.compare(array[mid-1], array[mid]) <= 0) return;
+        // Only the left run needs to be moved out of the way; the merge never overtakes the right run.
+        int leftLength = mid - lo;
+        System.arraycopy(array, lo, buffer, lo - offset, leftLength);
+        int i = lo - offset;
+        int leftEnd = i + leftLength;
+        int j = mid;
+        int k = lo;
+        while(i < leftEnd && j < hi)
+        {
+            E left = (E) buffer[i];
+            if(comparator.compare(array[j], left) < 0)
+            {
+                array[k++] = array[j++];
+            }
+            else
+            {
+                array[k++] = left;
+                ++i;
+            }
+        }
+        System.arraycopy(buffer, i, array, k, leftEnd - i);
+    }
+
+    private static class SortTask<E> extends RecursiveAction
+    {
+        private final E[] array;
+        private final Object[] buffer;
+        private final int lo;
+        private final int hi;
+        private final int offset;
+        private final Comparator<? super E> comparator;
+
+        SortTask(E[] array, Object[] buffer, int lo, int hi, int offset, Comparator<? super E> comparator)
+        {
+            this.array = array;
+            this.buffer = buffer;
+            this.lo = lo;
+            this.hi = hi;
+            this.offset = offset;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(hi - lo <= PARALLEL_THRESHOLD)
+            {
+                mergeSort(array, buffer, lo, hi, offset, comparator);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<>(array, buffer, lo, mid, offset, comparator),
+                      new SortTask<>(array, buffer, mid, hi, offset, comparator));
+            merge(array, buffer, lo, mid, hi, offset, comparator);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.GenericList;
+import dk.ek.vp.homemadecollections.instrumentation.Instrumentation;
+import dk.ek.vp.homemadecollections.instrumentation.Instrumented;
+import dk.ek.vp.homemadecollections.instrumentation.OperationCounters;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+public class GenericCircularArrayList<E> implements GenericList<E>, Instrumented
+{
+    private int version;
+    private E[] array;
+    private int head;
+    private int size;
+    private final OperationCounters counters = OperationCounters.create(this);
+
+    @SuppressWarnings("unchecked")
+    public GenericCircularArrayList()
+    {
+        array = (E[]) new Object[8];
+        head = 0;
+        size = 0;
+        version = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(E element)
+    {
+        ++version;
+        ensureCapacity();
+        array[physicalIndex(size)] = element;
+        ++size;
+    }
+
+    @Override
+    public void addFirst(E element)
+    {
+        ++version;
+        ensureCapacity();
+        head = (head == 0) ? array.length - 1 : head - 1;
+        array[head] = element;
+        ++size;
+    }
+
+    @Override
+    public E removeLast()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        int index = physicalIndex(--size);
+        E element = array[index];
+        array[index] = null;
+        return element;
+    }
+
+    @Override
+    public E removeFirst()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        E element = array[head];
+        array[head] = null;
+        head = (head + 1 == array.length) ? 0 : head + 1;
+        --size;
+        return element;
+    }
+
+    @Override
+    public E get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return array[physicalIndex(index)];
+    }
+
+    @Override
+    public void addAll(E[] elements)
+    {
+        ++version;
+        ensureCapacity(size + elements.length);
+        int tail = physicalIndex(size);
+        int firstPart = Math.min(elements.length, array.length - tail);
+        System.arraycopy(elements, 0, array, tail, firstPart);
+        System.arraycopy(elements, firstPart, array, 0, elements.length - firstPart);
+        size += elements.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void addAll(Iterable<? extends E> elements)
+    {
+        if(elements == this)
+        {
+            // The loop below would never catch up with its own tail.
+            addAll((E[]) toArray());
+            return;
+        }
+        if(elements instanceof GenericList<? extends E> other)
+        {
+            ensureCapacity(size + other.size());
+        }
+        else if(elements instanceof Collection<? extends E> other)
+        {
+            ensureCapacity(size + other.size());
+        }
+        ++version;
+        for(E element : elements)
+        {
+            ensureCapacity();
+            array[physicalIndex(size)] = element;
+            ++size;
+        }
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex)
+    {
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        ++version;
+        int removed = toIndex - fromIndex;
+        if(Instrumentation.ENABLED) counters.shifted(size - toIndex);
+        for(int i = fromIndex; i < size - removed; ++i)
+        {
+            array[physicalIndex(i)] = array[physicalIndex(i + removed)];
+        }
+        for(int i = size - removed; i < size; ++i)
+        {
+            array[physicalIndex(i)] = null;
+        }
+        size -= removed;
+    }
+
+    @Override
+    public void clear()
+    {
+        ++version;
+        Arrays.fill(array, null);
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        Object[] result = new Object[size];
+        int firstPart = Math.min(size, array.length - head);
+        System.arraycopy(array, head, result, 0, firstPart);
+        System.arraycopy(array, 0, result, firstPart, size - firstPart);
+        return result;
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity)
+    {
+        if(minCapacity > array.length)
+        {
+            grow(minCapacity);
+        }
+    }
+
+    @Override
+    public OperationCounters operationCounters()
+    {
+        return counters;
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new GenericCircularArrayIterator();
+    }
+
+    private int physicalIndex(int index)
+    {
+        int i = head + index;
+        return i < array.length ? i : i - array.length;
+    }
+
+    private void ensureCapacity()
+    {
+        if(size == array.length)
+        {
+            grow(size + 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void grow(int minCapacity)
+    {
+        E[] newArray = (E[]) new Object[Math.max(array.length*2, minCapacity)];
+        if(Instrumentation.ENABLED) counters.resized(array.length, newArray.length);
+        int firstPart = Math.min(size, array.length - head);
+        System.arraycopy(array, head, newArray, 0, firstPart);
+        System.arraycopy(array, 0, newArray, firstPart, size - firstPart);
+        array = newArray;
+        head = 0;
+    }
+
+    private class GenericCircularArrayIterator implements Iterator<E>
+    {
+        private final int curVersion;
+        private int curIndex;
+
+
+        public GenericCircularArrayIterator()
+        {
+            curVersion = version;
+            curIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return curIndex < size;
+        }
+
+        @Override
+        public E next()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return array[physicalIndex(curIndex++)];
+        }
+    }
+}
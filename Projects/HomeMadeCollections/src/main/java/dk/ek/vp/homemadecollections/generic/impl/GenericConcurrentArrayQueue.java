@@ -0,0 +1,252 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.GenericList;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Bounded lock-free multi-producer multi-consumer queue over a ring of slots (Vyukov).
+ * Every slot has a sequence number telling producers and consumers whose turn it is,
+ * so they only contend on the enqueue and dequeue counters.
+ * Only addLast and removeFirst are supported; iteration and get are weakly consistent.
+ * Null elements are not allowed.
+ */
+public class GenericConcurrentArrayQueue<E> implements GenericList<E>
+{
+    private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle ENQUEUE_POS;
+    private static final VarHandle DEQUEUE_POS;
+
+    static
+    {
+        try
+        {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ENQUEUE_POS = lookup.findVarHandle(GenericConcurrentArrayQueue.class, "enqueuePos", long.class);
+            DEQUEUE_POS = lookup.findVarHandle(GenericConcurrentArrayQueue.class, "dequeuePos", long.class);
+        }
+        catch(ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final E[] buffer;
+    private final long[] sequence;
+    private final int mask;
+    private volatile long enqueuePos;
+    private volatile long dequeuePos;
+
+    @SuppressWarnings("unchecked")
+    public GenericConcurrentArrayQueue(int capacity)
+    {
+        if(capacity < 2) throw new IllegalArgumentException("Capacity must be at least 2: " + capacity);
+        if(capacity > (1 << 30)) throw new IllegalArgumentException("Capacity is too large: " + capacity);
+        int slots = Integer.highestOneBit(capacity - 1) << 1;
+        buffer = (E[]) new Object[slots];
+        sequence = new long[slots];
+        for(int i = 0; i < slots; ++i)
+        {
+            sequence[i] = i;
+        }
+        mask = slots - 1;
+        enqueuePos = 0;
+        dequeuePos = 0;
+    }
+
+    public int capacity()
+    {
+        return buffer.length;
+    }
+
+    @Override
+    public int size()
+    {
+        long deq = dequeuePos;
+        long enq = enqueuePos;
+        return (int) Math.max(0, Math.min(enq - deq, buffer.length));
+    }
+
+    public boolean offerLast(E element)
+    {
+        Objects.requireNonNull(element);
+        long pos = enqueuePos;
+        while(true)
+        {
+            int index = (int) pos & mask;
+            long seq = (long) SEQUENCE.getAcquire(sequence, index);
+            long diff = seq - pos;
+            if(diff == 0)
+            {
+                if(ENQUEUE_POS.compareAndSet(this, pos, pos + 1))
+                {
+                    buffer[index] = element;
+                    SEQUENCE.setRelease(sequence, index, pos + 1);
+                    return true;
+                }
+                pos = enqueuePos;
+            }
+            else if(diff < 0)
+            {
+                return false;
+            }
+            else
+            {
+                pos = enqueuePos;
+            }
+        }
+    }
+
+    public E pollFirst()
+    {
+        long pos = dequeuePos;
+        while(true)
+        {
+            int index = (int) pos & mask;
+            long seq = (long) SEQUENCE.getAcquire(sequence, index);
+            long diff = seq - (pos + 1);
+            if(diff == 0)
+            {
+                if(DEQUEUE_POS.compareAndSet(this, pos, pos + 1))
+                {
+                    E element = buffer[index];
+                    buffer[index] = null;
+                    SEQUENCE.setRelease(sequence, index, pos + mask + 1);
+                    return element;
+                }
+                pos = dequeuePos;
+            }
+            else if(diff < 0)
+            {
+                return null;
+            }
+            else
+            {
+                pos = dequeuePos;
+            }
+        }
+    }
+
+    @Override
+    public void addLast(E element)
+    {
+        if(!offerLast(element)) throw new IllegalStateException("Queue is full");
+    }
+
+    @Override
+    public E removeFirst()
+    {
+        E element = pollFirst();
+        if(element == null) throw new RuntimeException("List is empty");
+        return element;
+    }
+
+    @Override
+    public void addFirst(E element)
+    {
+        throw new UnsupportedOperationException("A concurrent queue only adds at the end");
+    }
+
+    @Override
+    public E removeLast()
+    {
+        throw new UnsupportedOperationException("A concurrent queue only removes from the front");
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex)
+    {
+        throw new UnsupportedOperationException("A concurrent queue only removes from the front");
+    }
+
+    @Override
+    public void clear()
+    {
+        while(pollFirst() != null)
+        {
+        }
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        GenericArrayList<E> snapshot = new GenericArrayList<>();
+        snapshot.addAll(this);
+        return snapshot.toArray();
+    }
+
+    @Override
+    public E get(int index)
+    {
+        if(index < 0) throw new IndexOutOfBoundsException("Index: " + index);
+        E element = elementAt(dequeuePos + index);
+        if(element == null) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        return element;
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new WeakIterator();
+    }
+
+    // Reads the element at the given position, or null if it is not (or no longer) in the queue.
+    private E elementAt(long pos)
+    {
+        int index = (int) pos & mask;
+        long seq = (long) SEQUENCE.getAcquire(sequence, index);
+        if(seq != pos + 1)
+        {
+            return null;
+        }
+        E element = buffer[index];
+        VarHandle.loadLoadFence();
+        if((long) SEQUENCE.getAcquire(sequence, index) != seq)
+        {
+            return null;
+        }
+        return element;
+    }
+
+    private class WeakIterator implements Iterator<E>
+    {
+        private long pos;
+        private E nextElement;
+
+        public WeakIterator()
+        {
+            pos = dequeuePos;
+            advance();
+        }
+
+        private void advance()
+        {
+            nextElement = null;
+            long end = enqueuePos;
+            pos = Math.max(pos, dequeuePos);
+            while(nextElement == null && pos < end)
+            {
+                nextElement = elementAt(pos++);
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return nextElement != null;
+        }
+
+        @Override
+        public E next()
+        {
+            if(nextElement == null) throw new NoSuchElementException();
+            E element = nextElement;
+            advance();
+            return element;
+        }
+    }
+}
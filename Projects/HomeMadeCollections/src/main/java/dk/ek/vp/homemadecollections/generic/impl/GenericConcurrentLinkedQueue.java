@@ -0,0 +1,229 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.GenericList;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unbounded lock-free FIFO queue (Michael and Scott), usable as a hand-off between threads.
+ * Only the queue ends addLast and removeFirst are supported; iteration and get are weakly consistent.
+ * Null elements are not allowed.
+ */
+public class GenericConcurrentLinkedQueue<E> implements GenericList<E>
+{
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+
+    static
+    {
+        try
+        {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(GenericConcurrentLinkedQueue.class, "head", Node.class);
+            TAIL = lookup.findVarHandle(GenericConcurrentLinkedQueue.class, "tail", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+        }
+        catch(ReflectiveOperationException e)
+        {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // head is always a dummy node; the first element is head.next.
+    private volatile Node<E> head;
+    private volatile Node<E> tail;
+    private final AtomicInteger size;
+
+    public GenericConcurrentLinkedQueue()
+    {
+        Node<E> dummy = new Node<>(null);
+        head = dummy;
+        tail = dummy;
+        size = new AtomicInteger();
+    }
+
+    @Override
+    public int size()
+    {
+        return Math.max(size.get(), 0);
+    }
+
+    @Override
+    public void addLast(E element)
+    {
+        Node<E> newNode = new Node<>(Objects.requireNonNull(element));
+        while(true)
+        {
+            Node<E> t = tail;
+            Node<E> next = t.next;
+            if(t != tail)
+            {
+                continue;
+            }
+            if(next == null)
+            {
+                if(NEXT.compareAndSet(t, null, newNode))
+                {
+                    TAIL.compareAndSet(this, t, newNode);
+                    size.incrementAndGet();
+                    return;
+                }
+            }
+            else
+            {
+                TAIL.compareAndSet(this, t, next);
+            }
+        }
+    }
+
+    public E pollFirst()
+    {
+        while(true)
+        {
+            Node<E> h = head;
+            Node<E> t = tail;
+            Node<E> next = h.next;
+            if(h != head)
+            {
+                continue;
+            }
+            if(next == null)
+            {
+                return null;
+            }
+            if(h == t)
+            {
+                TAIL.compareAndSet(this, t, next);
+                continue;
+            }
+            E element = next.value;
+            if(element != null && HEAD.compareAndSet(this, h, next))
+            {
+                next.value = null;
+                size.decrementAndGet();
+                return element;
+            }
+        }
+    }
+
+    @Override
+    public E removeFirst()
+    {
+        E element = pollFirst();
+        if(element == null) throw new RuntimeException("List is empty");
+        return element;
+    }
+
+    @Override
+    public void addFirst(E element)
+    {
+        throw new UnsupportedOperationException("A concurrent queue only adds at the end");
+    }
+
+    @Override
+    public E removeLast()
+    {
+        throw new UnsupportedOperationException("A concurrent queue only removes from the front");
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex)
+    {
+        throw new UnsupportedOperationException("A concurrent queue only removes from the front");
+    }
+
+    @Override
+    public void clear()
+    {
+        while(pollFirst() != null)
+        {
+        }
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        GenericArrayList<E> snapshot = new GenericArrayList<>();
+        snapshot.addAll(this);
+        return snapshot.toArray();
+    }
+
+    @Override
+    public E get(int index)
+    {
+        if(index < 0) throw new IndexOutOfBoundsException("Index: " + index);
+        int i = 0;
+        for(E element : this)
+        {
+            if(i++ == index)
+            {
+                return element;
+            }
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + i);
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new WeakIterator();
+    }
+
+    private static class Node<E>
+    {
+        private volatile E value;
+        private volatile Node<E> next;
+
+        Node(E value)
+        {
+            this.value = value;
+        }
+    }
+
+    private class WeakIterator implements Iterator<E>
+    {
+        private Node<E> node;
+        private E nextElement;
+
+        public WeakIterator()
+        {
+            node = head;
+            advance();
+        }
+
+        // Skips nodes whose element has been taken by a consumer since we reached them.
+        private void advance()
+        {
+            nextElement = null;
+            while(nextElement == null && node != null)
+            {
+                node = node.next;
+                if(node != null)
+                {
+                    nextElement = node.value;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return nextElement != null;
+        }
+
+        @Override
+        public E next()
+        {
+            if(nextElement == null) throw new NoSuchElementException();
+            E element = nextElement;
+            advance();
+            return element;
+        }
+    }
+}
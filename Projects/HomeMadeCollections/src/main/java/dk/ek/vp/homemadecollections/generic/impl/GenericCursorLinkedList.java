@@ -0,0 +1,273 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.GenericList;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Doubly linked list without node objects. Each element lives in a slot, and the links are slot numbers
+ * kept in the next and prev arrays. Free slots are chained together through next, so once the arrays
+ * are big enough adding and removing elements allocates nothing.
+ */
+public class GenericCursorLinkedList<E> implements GenericList<E>
+{
+    private static final int NIL = -1;
+
+    private int version;
+    private E[] values;
+    private int[] next;
+    private int[] prev;
+    private int first;
+    private int last;
+    private int free;
+    private int size;
+
+    public GenericCursorLinkedList()
+    {
+        this(8);
+    }
+
+    @SuppressWarnings("unchecked")
+    public GenericCursorLinkedList(int initialCapacity)
+    {
+        if(initialCapacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + initialCapacity);
+        values = (E[]) new Object[initialCapacity];
+        next = new int[initialCapacity];
+        prev = new int[initialCapacity];
+        first = NIL;
+        last = NIL;
+        size = 0;
+        version = 0;
+        free = NIL;
+        chainFree(0, initialCapacity);
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(E element)
+    {
+        int slot = allocate(element);
+        next[slot] = NIL;
+        prev[slot] = last;
+        if(last == NIL)
+        {
+            first = slot;
+        }
+        else
+        {
+            next[last] = slot;
+        }
+        last = slot;
+        ++size;
+        ++version;
+    }
+
+    @Override
+    public void addFirst(E element)
+    {
+        int slot = allocate(element);
+        prev[slot] = NIL;
+        next[slot] = first;
+        if(first == NIL)
+        {
+            last = slot;
+        }
+        else
+        {
+            prev[first] = slot;
+        }
+        first = slot;
+        ++size;
+        ++version;
+    }
+
+    @Override
+    public E removeLast()
+    {
+        if(last == NIL) throw new RuntimeException("List is empty");
+        int slot = last;
+        last = prev[slot];
+        if(last == NIL)
+        {
+            first = NIL;
+        }
+        else
+        {
+            next[last] = NIL;
+        }
+        --size;
+        ++version;
+        return release(slot);
+    }
+
+    @Override
+    public E removeFirst()
+    {
+        if(first == NIL) throw new RuntimeException("List is empty");
+        int slot = first;
+        first = next[slot];
+        if(first == NIL)
+        {
+            last = NIL;
+        }
+        else
+        {
+            prev[first] = NIL;
+        }
+        --size;
+        ++version;
+        return release(slot);
+    }
+
+    @Override
+    public E get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        int slot;
+        if(index <= size - 1 - index)
+        {
+            slot = first;
+            for(int i = 0; i < index; ++i)
+            {
+                slot = next[slot];
+            }
+        }
+        else
+        {
+            slot = last;
+            for(int i = size - 1; i > index; --i)
+            {
+                slot = prev[slot];
+            }
+        }
+        return values[slot];
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(values, null);
+        first = NIL;
+        last = NIL;
+        free = NIL;
+        size = 0;
+        chainFree(0, values.length);
+        ++version;
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        Object[] result = new Object[size];
+        int i = 0;
+        for(int slot = first; slot != NIL; slot = next[slot])
+        {
+            result[i++] = values[slot];
+        }
+        return result;
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity)
+    {
+        if(minCapacity > values.length)
+        {
+            grow(minCapacity);
+        }
+    }
+
+    public int capacity()
+    {
+        return values.length;
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new GenericCursorIterator();
+    }
+
+    private int allocate(E element)
+    {
+        if(free == NIL)
+        {
+            grow(values.length + 1);
+        }
+        int slot = free;
+        free = next[slot];
+        values[slot] = element;
+        return slot;
+    }
+
+    private E release(int slot)
+    {
+        E element = values[slot];
+        values[slot] = null;
+        next[slot] = free;
+        free = slot;
+        return element;
+    }
+
+    // Pushes the slots from..to-1 onto the free list, so the lowest slot is handed out first.
+    private void chainFree(int from, int to)
+    {
+        for(int slot = to - 1; slot >= from; --slot)
+        {
+            next[slot] = free;
+            free = slot;
+        }
+    }
+
+    private void grow(int minCapacity)
+    {
+        int oldCapacity = values.length;
+        int newCapacity = Math.max(oldCapacity*2, minCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        next = Arrays.copyOf(next, newCapacity);
+        prev = Arrays.copyOf(prev, newCapacity);
+        chainFree(oldCapacity, newCapacity);
+    }
+
+    private class GenericCursorIterator implements Iterator<E>
+    {
+        private final int curVersion;
+        private int slot;
+
+        public GenericCursorIterator()
+        {
+            curVersion = version;
+            slot = first;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return slot != NIL;
+        }
+
+        @Override
+        public E next()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            if(slot == NIL) throw new NoSuchElementException();
+            E element = values[slot];
+            slot = next[slot];
+            return element;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.GenericPriorityQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Min-heap stored in an array, where every node has up to arity children.
+ * The children of the node at index i are at arity * i + 1 .. arity * i + arity.
+ * A larger arity makes the tree flatter, which makes add cheaper and poll compare more children per level.
+ */
+public class GenericDaryHeap<E> implements GenericPriorityQueue<E>
+{
+    private final Comparator<? super E> comparator;
+    private final int arity;
+    private E[] heap;
+    private int size;
+
+    public GenericDaryHeap(Comparator<? super E> comparator)
+    {
+        this(comparator, 4);
+    }
+
+    @SuppressWarnings("unchecked")
+    public GenericDaryHeap(Comparator<? super E> comparator, int arity)
+    {
+        if(arity < 2) throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+        this.comparator = comparator;
+        this.arity = arity;
+        heap = (E[]) new Object[8];
+        size = 0;
+    }
+
+    // Builds the heap bottom-up from the given elements in O(n).
+    @SuppressWarnings("unchecked")
+    public GenericDaryHeap(Comparator<? super E> comparator, int arity, E[] elements)
+    {
+        this(comparator, arity);
+        heap = (E[]) Arrays.copyOf(elements, Math.max(elements.length, 8), Object[].class);
+        size = elements.length;
+        if(size > 1)
+        {
+            for(int i = parent(size - 1); i >= 0; --i)
+            {
+                siftDown(i, heap[i]);
+            }
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void add(E element)
+    {
+        if(size == heap.length)
+        {
+            heap = Arrays.copyOf(heap, heap.length*2);
+        }
+        siftUp(size++, element);
+    }
+
+    @Override
+    public E peek()
+    {
+        if(size == 0) throw new RuntimeException("Queue is empty");
+        return heap[0];
+    }
+
+    @Override
+    public E poll()
+    {
+        if(size == 0) throw new RuntimeException("Queue is empty");
+        E result = heap[0];
+        E last = heap[--size];
+        heap[size] = null;
+        if(size > 0)
+        {
+            siftDown(0, last);
+        }
+        return result;
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+    }
+
+    private int parent(int index)
+    {
+        return (index - 1) / arity;
+    }
+
+    // Moves the hole at index up until element fits, then puts element in it.
+    private void siftUp(int index, E element)
+    {
+        while(index > 0)
+        {
+            int p = parent(index);
+            if(comparator.compare(element, heap[p]) >= 0)
+            {
+                break;
+            }
+            heap[index] = heap[p];
+            index = p;
+        }
+        heap[index] = element;
+    }
+
+    // Moves the hole at index down to the smallest child until element fits, then puts element in it.
+    private void siftDown(int index, E element)
+    {
+        while(true)
+        {
+            int firstChild = arity * index + 1;
+            if(firstChild >= size)
+            {
+                break;
+            }
+            int end = Math.min(firstChild + arity, size);
+            int best = firstChild;
+            for(int c = firstChild + 1; c < end; ++c)
+            {
+                if(comparator.compare(heap[c], heap[best]) < 0)
+                {
+                    best = c;
+                }
+            }
+            if(comparator.compare(heap[best], element) >= 0)
+            {
+                break;
+            }
+            heap[index] = heap[best];
+            index = best;
+        }
+        heap[index] = element;
+    }
+}
@@ -0,0 +1,249 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.IndexedPriorityQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * D-ary min-heap of handles. Elements are stored by handle, and position[handle] tracks where the handle
+ * sits in the heap, so decreaseKey and remove can start sifting from the right place in O(log n).
+ * Handles of removed elements are kept on a free stack and handed out again.
+ */
+public class GenericIndexedDaryHeap<E> implements IndexedPriorityQueue<E>
+{
+    private static final int FREE = -1;
+
+    private final Comparator<? super E> comparator;
+    private final int arity;
+    private int[] heap;
+    private int size;
+    private E[] elements;
+    private int[] position;
+    private int[] freeHandles;
+    private int freeCount;
+    private int nextHandle;
+
+    public GenericIndexedDaryHeap(Comparator<? super E> comparator)
+    {
+        this(comparator, 4);
+    }
+
+    @SuppressWarnings("unchecked")
+    public GenericIndexedDaryHeap(Comparator<? super E> comparator, int arity)
+    {
+        if(arity < 2) throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+        this.comparator = comparator;
+        this.arity = arity;
+        heap = new int[8];
+        elements = (E[]) new Object[8];
+        position = new int[8];
+        freeHandles = new int[8];
+        size = 0;
+        freeCount = 0;
+        nextHandle = 0;
+    }
+
+    // Builds the heap bottom-up in O(n). The element at index i gets handle i.
+    @SuppressWarnings("unchecked")
+    public GenericIndexedDaryHeap(Comparator<? super E> comparator, int arity, E[] elements)
+    {
+        this(comparator, arity);
+        int n = elements.length;
+        int capacity = Math.max(n, 8);
+        this.elements = (E[]) Arrays.copyOf(elements, capacity, Object[].class);
+        heap = new int[capacity];
+        position = new int[capacity];
+        freeHandles = new int[capacity];
+        for(int i = 0; i < n; ++i)
+        {
+            heap[i] = i;
+            position[i] = i;
+        }
+        size = n;
+        nextHandle = n;
+        if(size > 1)
+        {
+            for(int i = parent(size - 1); i >= 0; --i)
+            {
+                siftDown(i, heap[i]);
+            }
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public int insert(E element)
+    {
+        int handle;
+        if(freeCount > 0)
+        {
+            handle = freeHandles[--freeCount];
+        }
+        else
+        {
+            if(nextHandle == elements.length)
+            {
+                grow();
+            }
+            handle = nextHandle++;
+        }
+        elements[handle] = element;
+        siftUp(size++, handle);
+        return handle;
+    }
+
+    @Override
+    public E peek()
+    {
+        if(size == 0) throw new RuntimeException("Queue is empty");
+        return elements[heap[0]];
+    }
+
+    @Override
+    public int peekHandle()
+    {
+        if(size == 0) throw new RuntimeException("Queue is empty");
+        return heap[0];
+    }
+
+    @Override
+    public E poll()
+    {
+        if(size == 0) throw new RuntimeException("Queue is empty");
+        return removeAt(0);
+    }
+
+    @Override
+    public E get(int handle)
+    {
+        checkHandle(handle);
+        return elements[handle];
+    }
+
+    @Override
+    public boolean contains(int handle)
+    {
+        return handle >= 0 && handle < nextHandle && position[handle] != FREE;
+    }
+
+    @Override
+    public void decreaseKey(int handle, E element)
+    {
+        checkHandle(handle);
+        if(comparator.compare(element, elements[handle]) > 0) throw new IllegalArgumentException("New key is larger than the current key");
+        elements[handle] = element;
+        siftUp(position[handle], handle);
+    }
+
+    @Override
+    public E remove(int handle)
+    {
+        checkHandle(handle);
+        return removeAt(position[handle]);
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(elements, 0, nextHandle, null);
+        size = 0;
+        freeCount = 0;
+        nextHandle = 0;
+    }
+
+    private E removeAt(int index)
+    {
+        int handle = heap[index];
+        E element = elements[handle];
+        int lastHandle = heap[--size];
+        if(index < size)
+        {
+            siftDown(index, lastHandle);
+            if(heap[index] == lastHandle)
+            {
+                siftUp(index, lastHandle);
+            }
+        }
+        elements[handle] = null;
+        position[handle] = FREE;
+        freeHandles[freeCount++] = handle;
+        return element;
+    }
+
+    private void checkHandle(int handle)
+    {
+        if(!contains(handle)) throw new NoSuchElementException("No element with handle: " + handle);
+    }
+
+    private void grow()
+    {
+        int capacity = elements.length*2;
+        elements = Arrays.copyOf(elements, capacity);
+        heap = Arrays.copyOf(heap, capacity);
+        position = Arrays.copyOf(position, capacity);
+        freeHandles = Arrays.copyOf(freeHandles, capacity);
+    }
+
+    private int parent(int index)
+    {
+        return (index - 1) / arity;
+    }
+
+    private void place(int index, int handle)
+    {
+        heap[index] = handle;
+        position[handle] = index;
+    }
+
+    private void siftUp(int index, int handle)
+    {
+        E element = elements[handle];
+        while(index > 0)
+        {
+            int p = parent(index);
+            if(comparator.compare(element, elements[heap[p]]) >= 0)
+            {
+                break;
+            }
+            place(index, heap[p]);
+            index = p;
+        }
+        place(index, handle);
+    }
+
+    private void siftDown(int index, int handle)
+    {
+        E element = elements[handle];
+        while(true)
+        {
+            int firstChild = arity * index + 1;
+            if(firstChild >= size)
+            {
+                break;
+            }
+            int end = Math.min(firstChild + arity, size);
+            int best = firstChild;
+            for(int c = firstChild + 1; c < end; ++c)
+            {
+                if(comparator.compare(elements[heap[c]], elements[heap[best]]) < 0)
+                {
+                    best = c;
+                }
+            }
+            if(comparator.compare(elements[heap[best]], element) >= 0)
+            {
+                break;
+            }
+            place(index, heap[best]);
+            index = best;
+        }
+        place(index, handle);
+    }
+}
@@ -1,25 +1,72 @@
 package dk.ek.vp.homemadecollections.generic.impl;
 
 import dk.ek.vp.homemadecollections.first.StringList;
-import dk.ek.vp.homemadecollections.generic.GenericList;
+import dk.ek.vp.homemadecollections.generic.PositionalList;
+import dk.ek.vp.homemadecollections.instrumentation.Instrumentation;
+import dk.ek.vp.homemadecollections.instrumentation.Instrumented;
+import dk.ek.vp.homemadecollections.instrumentation.OperationCounters;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
 
-public class GenericLinkedList<E> implements GenericList<E>
+public class GenericLinkedList<E> implements PositionalList<E>, Instrumented
 {
+    private static final int MAX_LEVEL = 16;
+
     private int curVersion;
     private GenericListNode<E> first;
     private GenericListNode<E> last;
     private int size;
+    private final OperationCounters counters = OperationCounters.create(this);
+
+    // Last node found by index, so loops like "for i < size: get(i)" only take one step per call.
+    private GenericListNode<E> finger;
+    private int fingerIndex;
+
+    // Optional skip-list index over the nodes, null unless the list was created as indexed.
+    private final IndexTower<E> indexHead;
+    private final IndexTower<E>[] update;
+    private final int[] updateRank;
+    private int indexLevels;
 
     public GenericLinkedList()
+    {
+        this(false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public GenericLinkedList(boolean indexed)
     {
         first = null;
         last = null;
         size = 0;
         curVersion = 0;
+        finger = null;
+        fingerIndex = 0;
+        if(indexed)
+        {
+            indexHead = new IndexTower<>(null, MAX_LEVEL);
+            update = (IndexTower<E>[]) new IndexTower[MAX_LEVEL];
+            updateRank = new int[MAX_LEVEL];
+        }
+        else
+        {
+            indexHead = null;
+            update = null;
+            updateRank = null;
+        }
+        indexLevels = 0;
     }
 
+    public boolean isIndexed()
+    {
+        return indexHead != null;
+    }
 
     @Override
     public int size()
@@ -30,6 +77,11 @@ public class GenericLinkedList<E> implements GenericList<E>
     @Override
     public void addLast(E element)
     {
+        if(indexHead != null)
+        {
+            addIndexed(size, element);
+            return;
+        }
         GenericListNode<E> newNode = new GenericListNode<>(element);
         if(last == null)
         {
@@ -49,6 +101,11 @@ public class GenericLinkedList<E> implements GenericList<E>
     @Override
     public void addFirst(E element)
     {
+        if(indexHead != null)
+        {
+            addIndexed(0, element);
+            return;
+        }
         GenericListNode<E> newNode = new GenericListNode<>(element);
         if(first == null)
         {
@@ -61,10 +118,41 @@ public class GenericLinkedList<E> implements GenericList<E>
             newNode.setNext(first);
             first = newNode;
         }
+        if(finger != null)
+        {
+            ++fingerIndex;
+        }
         ++size;
         ++curVersion;
     }
 
+    @Override
+    public void add(int index, E element)
+    {
+        if(index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if(indexHead != null)
+        {
+            addIndexed(index, element);
+        }
+        else if(index == size)
+        {
+            addLast(element);
+        }
+        else if(index == 0)
+        {
+            addFirst(element);
+        }
+        else
+        {
+            GenericListNode<E> newNode = new GenericListNode<>(element);
+            linkAfter(nodeAt(index - 1), newNode);
+            finger = newNode;
+            fingerIndex = index;
+            ++size;
+            ++curVersion;
+        }
+    }
+
     @Override
     public E removeLast()
     {
@@ -72,6 +160,10 @@ public class GenericLinkedList<E> implements GenericList<E>
         {
             throw new RuntimeException("List is empty");
         }
+        if(indexHead != null)
+        {
+            return removeIndexed(size - 1);
+        }
         GenericListNode<E> temp = last;
         if(last.getPrev() == null)
         {
@@ -83,6 +175,10 @@ public class GenericLinkedList<E> implements GenericList<E>
             last = last.getPrev();
             last.setNext(null);
         }
+        if(finger == temp)
+        {
+            finger = null;
+        }
         ++curVersion;
         --size;
         return temp.getValue();
@@ -95,6 +191,10 @@ public class GenericLinkedList<E> implements GenericList<E>
         {
             throw new RuntimeException("List is empty");
         }
+        if(indexHead != null)
+        {
+            return removeIndexed(0);
+        }
         GenericListNode<E> temp = first;
         if(first.getNext() == null)
         {
@@ -106,22 +206,192 @@ public class GenericLinkedList<E> implements GenericList<E>
             first = first.getNext();
             first.setPrev(null);
         }
+        if(finger == temp)
+        {
+            finger = null;
+        }
+        else if(finger != null)
+        {
+            --fingerIndex;
+        }
         ++curVersion;
         --size;
         return temp.getValue();
     }
 
     @Override
-    public E get(int index)
+    public E remove(int index)
     {
         if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
-        GenericListNode<E> cur = first;
-        while(index > 0)
+        if(indexHead != null)
         {
-            cur = cur.getNext();
-            --index;
+            return removeIndexed(index);
+        }
+        GenericListNode<E> node = nodeAt(index);
+        GenericListNode<E> next = node.getNext();
+        unlink(node);
+        finger = next;
+        fingerIndex = index;
+        --size;
+        ++curVersion;
+        return node.getValue();
+    }
+
+    @Override
+    public void addAll(E[] elements)
+    {
+        if(indexHead != null)
+        {
+            PositionalList.super.addAll(elements);
+            return;
         }
-        return cur.getValue();
+        GenericListNode<E> chainFirst = null;
+        GenericListNode<E> chainLast = null;
+        for(E element : elements)
+        {
+            chainLast = linkNew(chainLast, element);
+            if(chainFirst == null)
+            {
+                chainFirst = chainLast;
+            }
+        }
+        spliceLast(chainFirst, chainLast, elements.length);
+    }
+
+    @Override
+    public void addAll(Iterable<? extends E> elements)
+    {
+        if(indexHead != null)
+        {
+            PositionalList.super.addAll(elements);
+            return;
+        }
+        GenericListNode<E> chainFirst = null;
+        GenericListNode<E> chainLast = null;
+        int n = 0;
+        for(E element : elements)
+        {
+            chainLast = linkNew(chainLast, element);
+            if(chainFirst == null)
+            {
+                chainFirst = chainLast;
+            }
+            ++n;
+        }
+        spliceLast(chainFirst, chainLast, n);
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex)
+    {
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException("From: " + fromIndex + ", To: " + toIndex + ", Size: " + size);
+        if(fromIndex == toIndex)
+        {
+            return;
+        }
+        if(indexHead != null)
+        {
+            for(int i = fromIndex; i < toIndex; ++i)
+            {
+                removeIndexed(fromIndex);
+            }
+            return;
+        }
+        GenericListNode<E> before = nodeAt(fromIndex).getPrev();
+        GenericListNode<E> after = nodeAt(toIndex - 1).getNext();
+        if(before == null)
+        {
+            first = after;
+        }
+        else
+        {
+            before.setNext(after);
+        }
+        if(after == null)
+        {
+            last = before;
+        }
+        else
+        {
+            after.setPrev(before);
+        }
+        finger = null;
+        size -= toIndex - fromIndex;
+        ++curVersion;
+    }
+
+    @Override
+    public void clear()
+    {
+        first = null;
+        last = null;
+        finger = null;
+        size = 0;
+        if(indexHead != null)
+        {
+            Arrays.fill(indexHead.next, null);
+            Arrays.fill(indexHead.span, 0);
+            indexLevels = 0;
+        }
+        ++curVersion;
+    }
+
+    // Merge sort that only relinks the existing nodes.
+    @Override
+    public void sort(Comparator<? super E> comparator)
+    {
+        if(size > 1)
+        {
+            first = mergeSort(first, comparator);
+            GenericListNode<E> prev = null;
+            for(GenericListNode<E> cur = first; cur != null; cur = cur.getNext())
+            {
+                cur.setPrev(prev);
+                prev = cur;
+            }
+            last = prev;
+            finger = null;
+            if(indexHead != null)
+            {
+                rebuildIndex();
+            }
+        }
+        ++curVersion;
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        Object[] result = new Object[size];
+        int i = 0;
+        for(GenericListNode<E> cur = first; cur != null; cur = cur.getNext())
+        {
+            result[i++] = cur.getValue();
+        }
+        return result;
+    }
+
+    @Override
+    public E get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return nodeAt(index).getValue();
+    }
+
+    @Override
+    public OperationCounters operationCounters()
+    {
+        return counters;
+    }
+
+    @Override
+    public E set(int index, E element)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        GenericListNode<E> node = nodeAt(index);
+        E old = node.getValue();
+        node.setValue(element);
+        return old;
     }
 
     @Override
@@ -130,6 +400,371 @@ public class GenericLinkedList<E> implements GenericList<E>
         return new  GenericListIterator();
     }
 
+    @Override
+    public Spliterator<E> spliterator()
+    {
+        return new GenericListSpliterator();
+    }
+
+    private GenericListNode<E> nodeAt(int index)
+    {
+        if(indexHead != null)
+        {
+            return indexedNodeAt(index);
+        }
+        GenericListNode<E> cur;
+        int curIndex;
+        if(index <= size - 1 - index)
+        {
+            cur = first;
+            curIndex = 0;
+        }
+        else
+        {
+            cur = last;
+            curIndex = size - 1;
+        }
+        if(finger != null && Math.abs(index - fingerIndex) < Math.abs(index - curIndex))
+        {
+            cur = finger;
+            curIndex = fingerIndex;
+        }
+        if(Instrumentation.ENABLED) counters.traversed(Math.abs(index - curIndex));
+        while(curIndex < index)
+        {
+            cur = cur.getNext();
+            ++curIndex;
+        }
+        while(curIndex > index)
+        {
+            cur = cur.getPrev();
+            --curIndex;
+        }
+        finger = cur;
+        fingerIndex = index;
+        return cur;
+    }
+
+    // Bottom-up merge of runs of width 1, 2, 4... following only the next links.
+    private GenericListNode<E> mergeSort(GenericListNode<E> head, Comparator<? super E> comparator)
+    {
+        for(int width = 1; ; width *= 2)
+        {
+            GenericListNode<E> p = head;
+            GenericListNode<E> tail = null;
+            head = null;
+            int merges = 0;
+            while(p != null)
+            {
+                ++merges;
+                GenericListNode<E> q = p;
+                int pSize = 0;
+                while(pSize < width && q != null)
+                {
+                    ++pSize;
+                    q = q.getNext();
+                }
+                int qSize = width;
+                while(pSize > 0 || (qSize > 0 && q != null))
+                {
+                    GenericListNode<E> next;
+                    if(pSize > 0 && (qSize == 0 || q == null || comparator.compare(q.getValue(), p.getValue()) >= 0))
+                    {
+                        next = p;
+                        p = p.getNext();
+                        --pSize;
+                    }
+                    else
+                    {
+                        next = q;
+                        q = q.getNext();
+                        --qSize;
+                    }
+                    if(tail == null)
+                    {
+                        head = next;
+                    }
+                    else
+                    {
+                        tail.setNext(next);
+                    }
+                    tail = next;
+                }
+                p = q;
+            }
+            tail.setNext(null);
+            if(merges <= 1)
+            {
+                return head;
+            }
+        }
+    }
+
+    // Creates a node after the given tail of a chain that is not yet part of the list.
+    private GenericListNode<E> linkNew(GenericListNode<E> tail, E element)
+    {
+        GenericListNode<E> newNode = new GenericListNode<>(element);
+        if(tail != null)
+        {
+            tail.setNext(newNode);
+            newNode.setPrev(tail);
+        }
+        return newNode;
+    }
+
+    private void spliceLast(GenericListNode<E> chainFirst, GenericListNode<E> chainLast, int n)
+    {
+        if(n == 0)
+        {
+            return;
+        }
+        if(last == null)
+        {
+            first = chainFirst;
+        }
+        else
+        {
+            last.setNext(chainFirst);
+            chainFirst.setPrev(last);
+        }
+        last = chainLast;
+        size += n;
+        ++curVersion;
+    }
+
+    private void linkAfter(GenericListNode<E> pred, GenericListNode<E> newNode)
+    {
+        GenericListNode<E> next = (pred == null) ? first : pred.getNext();
+        newNode.setPrev(pred);
+        newNode.setNext(next);
+        if(pred == null)
+        {
+            first = newNode;
+        }
+        else
+        {
+            pred.setNext(newNode);
+        }
+        if(next == null)
+        {
+            last = newNode;
+        }
+        else
+        {
+            next.setPrev(newNode);
+        }
+    }
+
+    private void unlink(GenericListNode<E> node)
+    {
+        GenericListNode<E> prev = node.getPrev();
+        GenericListNode<E> next = node.getNext();
+        if(prev == null)
+        {
+            first = next;
+        }
+        else
+        {
+            prev.setNext(next);
+        }
+        if(next == null)
+        {
+            last = prev;
+        }
+        else
+        {
+            next.setPrev(prev);
+        }
+        node.setNext(null);
+        node.setPrev(null);
+    }
+
+    // In the index the head tower has rank 0 and the node at index i has rank i + 1.
+    // span[l] is the number of nodes skipped by following next[l].
+
+    private GenericListNode<E> indexedNodeAt(int index)
+    {
+        int target = index + 1;
+        IndexTower<E> x = indexHead;
+        int rank = 0;
+        int hops = 0;
+        for(int l = indexLevels - 1; l >= 0; --l)
+        {
+            while(x.next[l] != null && rank + x.span[l] <= target)
+            {
+                rank += x.span[l];
+                x = x.next[l];
+                ++hops;
+            }
+        }
+        if(Instrumentation.ENABLED) counters.traversed(hops + target - rank);
+        return walk(x, rank, target);
+    }
+
+    private void findPredecessors(int target)
+    {
+        IndexTower<E> x = indexHead;
+        int rank = 0;
+        for(int l = Math.max(indexLevels, 1) - 1; l >= 0; --l)
+        {
+            while(x.next[l] != null && rank + x.span[l] < target)
+            {
+                rank += x.span[l];
+                x = x.next[l];
+            }
+            update[l] = x;
+            updateRank[l] = rank;
+        }
+    }
+
+    // Returns the node with the target rank, starting from a tower with a known rank (null for rank 0).
+    private GenericListNode<E> walk(IndexTower<E> tower, int rank, int target)
+    {
+        GenericListNode<E> cur = tower.node;
+        int steps = target - rank;
+        if(cur == null)
+        {
+            if(steps == 0) return null;
+            cur = first;
+            --steps;
+        }
+        while(steps > 0)
+        {
+            cur = cur.getNext();
+            --steps;
+        }
+        return cur;
+    }
+
+    private void addIndexed(int index, E element)
+    {
+        int target = index + 1;
+        findPredecessors(target);
+        int height = randomHeight();
+        for(int l = Math.max(indexLevels, 1); l < height; ++l)
+        {
+            update[l] = indexHead;
+            updateRank[l] = 0;
+        }
+        indexLevels = Math.max(indexLevels, height);
+
+        GenericListNode<E> newNode = new GenericListNode<>(element);
+        linkAfter(walk(update[0], updateRank[0], target - 1), newNode);
+
+        IndexTower<E> tower = (height > 0) ? new IndexTower<>(newNode, height) : null;
+        for(int l = 0; l < indexLevels; ++l)
+        {
+            IndexTower<E> u = update[l];
+            if(l < height)
+            {
+                if(u.next[l] != null)
+                {
+                    tower.span[l] = updateRank[l] + u.span[l] + 1 - target;
+                }
+                tower.next[l] = u.next[l];
+                u.next[l] = tower;
+                u.span[l] = target - updateRank[l];
+            }
+            else if(u.next[l] != null)
+            {
+                ++u.span[l];
+            }
+        }
+        ++size;
+        ++curVersion;
+    }
+
+    private E removeIndexed(int index)
+    {
+        int target = index + 1;
+        findPredecessors(target);
+        GenericListNode<E> node = walk(update[0], updateRank[0], target);
+        for(int l = 0; l < indexLevels; ++l)
+        {
+            IndexTower<E> u = update[l];
+            IndexTower<E> next = u.next[l];
+            if(next == null)
+            {
+                continue;
+            }
+            if(next.node == node)
+            {
+                if(next.next[l] != null)
+                {
+                    u.span[l] += next.span[l] - 1;
+                }
+                u.next[l] = next.next[l];
+            }
+            else
+            {
+                --u.span[l];
+            }
+        }
+        while(indexLevels > 0 && indexHead.next[indexLevels - 1] == null)
+        {
+            --indexLevels;
+        }
+        unlink(node);
+        --size;
+        ++curVersion;
+        return node.getValue();
+    }
+
+    // Builds a fresh index over the nodes in their current order.
+    private void rebuildIndex()
+    {
+        Arrays.fill(indexHead.next, null);
+        Arrays.fill(indexHead.span, 0);
+        Arrays.fill(update, indexHead);
+        Arrays.fill(updateRank, 0);
+        indexLevels = 0;
+        int rank = 0;
+        for(GenericListNode<E> cur = first; cur != null; cur = cur.getNext())
+        {
+            ++rank;
+            int height = randomHeight();
+            if(height == 0)
+            {
+                continue;
+            }
+            IndexTower<E> tower = new IndexTower<>(cur, height);
+            for(int l = 0; l < height; ++l)
+            {
+                update[l].next[l] = tower;
+                update[l].span[l] = rank - updateRank[l];
+                update[l] = tower;
+                updateRank[l] = rank;
+            }
+            indexLevels = Math.max(indexLevels, height);
+        }
+    }
+
+    private static int randomHeight()
+    {
+        int height = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while(height < MAX_LEVEL && (random.nextInt() & 3) == 0)
+        {
+            ++height;
+        }
+        return height;
+    }
+
+    private static class IndexTower<E>
+    {
+        private final GenericListNode<E> node;
+        private final IndexTower<E>[] next;
+        private final int[] span;
+
+        @SuppressWarnings("unchecked")
+        IndexTower(GenericListNode<E> node, int height)
+        {
+            this.node = node;
+            this.next = (IndexTower<E>[]) new IndexTower[height];
+            this.span = new int[height];
+        }
+    }
+
     private class GenericListIterator implements Iterator<E>
     {
         GenericListNode<E> next;
@@ -153,4 +788,81 @@ public class GenericLinkedList<E> implements GenericList<E>
             return res;
         }
     }
+
+    // Splits by copying batches of growing size into arrays, since a linked list cannot be split by index.
+    private class GenericListSpliterator implements Spliterator<E>
+    {
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+
+        private GenericListNode<E> current;
+        private int remaining;
+        private int batch;
+
+        public GenericListSpliterator()
+        {
+            this.current = first;
+            this.remaining = size;
+            this.batch = 0;
+        }
+
+        @Override
+        public Spliterator<E> trySplit()
+        {
+            if(current == null || remaining <= 1)
+            {
+                return null;
+            }
+            int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining);
+            Object[] a = new Object[n];
+            int j = 0;
+            while(j < n && current != null)
+            {
+                a[j++] = current.getValue();
+                current = current.getNext();
+            }
+            batch = j;
+            remaining -= j;
+            return Spliterators.spliterator(a, 0, j, Spliterator.ORDERED);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action)
+        {
+            if(current == null)
+            {
+                return false;
+            }
+            E element = current.getValue();
+            current = current.getNext();
+            --remaining;
+            action.accept(element);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action)
+        {
+            GenericListNode<E> cur = current;
+            current = null;
+            remaining = 0;
+            while(cur != null)
+            {
+                action.accept(cur.getValue());
+                cur = cur.getNext();
+            }
+        }
+
+        @Override
+        public long estimateSize()
+        {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics()
+        {
+            return Spliterator.ORDERED | Spliterator.SIZED;
+        }
+    }
 }
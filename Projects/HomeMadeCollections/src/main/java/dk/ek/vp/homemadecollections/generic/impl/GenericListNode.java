@@ -2,7 +2,7 @@ package dk.ek.vp.homemadecollections.generic.impl;
 
 public class GenericListNode<E>
 {
-    private final E value;
+    private E value;
     private GenericListNode<E> next;
     private GenericListNode<E> prev;
 
@@ -16,6 +16,11 @@ public class GenericListNode<E>
         return value;
     }
 
+    public void setValue(E value)
+    {
+        this.value = value;
+    }
+
     public GenericListNode<E> getNext()
     {
         return next;
@@ -0,0 +1,316 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.GenericMap;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Open addressing hash map with Robin Hood probing. Keys, values and hashes are kept in three parallel arrays,
+ * so there is no entry object per mapping. An inserted entry takes the slot of any entry that is closer to its
+ * home slot, which keeps probe sequences short, and removal shifts the following entries one slot back
+ * instead of leaving tombstones. Null keys are not supported.
+ */
+public class GenericRobinHoodMap<K, V> implements GenericMap<K, V>
+{
+    private static final int EMPTY = 0;
+
+    private final float loadFactor;
+    private int version;
+    private K[] keys;
+    private V[] values;
+    private int[] hashes; // EMPTY for a free slot
+    private int mask;
+    private int size;
+    private int threshold;
+
+    public GenericRobinHoodMap()
+    {
+        this(16, 0.75f);
+    }
+
+    public GenericRobinHoodMap(int initialCapacity)
+    {
+        this(initialCapacity, 0.75f);
+    }
+
+    public GenericRobinHoodMap(int initialCapacity, float loadFactor)
+    {
+        if(initialCapacity < 0) throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        if(!(loadFactor > 0 && loadFactor < 1)) throw new IllegalArgumentException("Load factor must be between 0 and 1: " + loadFactor);
+        this.loadFactor = loadFactor;
+        version = 0;
+        size = 0;
+        allocate(tableSizeFor(initialCapacity, loadFactor));
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public V get(K key)
+    {
+        int slot = find(key);
+        return slot < 0 ? null : values[slot];
+    }
+
+    @Override
+    public boolean containsKey(K key)
+    {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public V put(K key, V value)
+    {
+        int hash = hash(key);
+        int slot = hash & mask;
+        int dist = 0;
+        while(true)
+        {
+            int h = hashes[slot];
+            if(h == EMPTY)
+            {
+                break;
+            }
+            if(h == hash && key.equals(keys[slot]))
+            {
+                V old = values[slot];
+                values[slot] = value;
+                return old;
+            }
+            if(probeDistance(h, slot) < dist)
+            {
+                break;
+            }
+            slot = (slot + 1) & mask;
+            ++dist;
+        }
+        ++version;
+        if(size >= threshold)
+        {
+            grow();
+        }
+        insert(hash, key, value);
+        ++size;
+        return null;
+    }
+
+    @Override
+    public V remove(K key)
+    {
+        int slot = find(key);
+        if(slot < 0)
+        {
+            return null;
+        }
+        V old = values[slot];
+        ++version;
+        --size;
+        int next = (slot + 1) & mask;
+        while(hashes[next] != EMPTY && probeDistance(hashes[next], next) > 0)
+        {
+            hashes[slot] = hashes[next];
+            keys[slot] = keys[next];
+            values[slot] = values[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+        hashes[slot] = EMPTY;
+        keys[slot] = null;
+        values[slot] = null;
+        return old;
+    }
+
+    @Override
+    public void clear()
+    {
+        ++version;
+        Arrays.fill(hashes, EMPTY);
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action)
+    {
+        int expectedVersion = version;
+        for(int slot = 0; slot < hashes.length; ++slot)
+        {
+            if(hashes[slot] != EMPTY)
+            {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+        if(expectedVersion != version)
+        {
+            throw new ConcurrentModificationException("Map has changed!");
+        }
+    }
+
+    @Override
+    public Cursor<K, V> cursor()
+    {
+        return new RobinHoodCursor();
+    }
+
+    public int capacity()
+    {
+        return hashes.length;
+    }
+
+    private int find(K key)
+    {
+        int hash = hash(key);
+        int slot = hash & mask;
+        int dist = 0;
+        while(true)
+        {
+            int h = hashes[slot];
+            if(h == EMPTY || probeDistance(h, slot) < dist)
+            {
+                return -1;
+            }
+            if(h == hash && key.equals(keys[slot]))
+            {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+            ++dist;
+        }
+    }
+
+    // Places an entry whose key is known not to be in the table, displacing entries that are closer to home.
+    private void insert(int hash, K key, V value)
+    {
+        int slot = hash & mask;
+        int dist = 0;
+        while(true)
+        {
+            int h = hashes[slot];
+            if(h == EMPTY)
+            {
+                hashes[slot] = hash;
+                keys[slot] = key;
+                values[slot] = value;
+                return;
+            }
+            int existingDist = probeDistance(h, slot);
+            if(existingDist < dist)
+            {
+                K k = keys[slot];
+                V v = values[slot];
+                hashes[slot] = hash;
+                keys[slot] = key;
+                values[slot] = value;
+                hash = h;
+                key = k;
+                value = v;
+                dist = existingDist;
+            }
+            slot = (slot + 1) & mask;
+            ++dist;
+        }
+    }
+
+    private int probeDistance(int hash, int slot)
+    {
+        return (slot - (hash & mask)) & mask;
+    }
+
+    private void grow()
+    {
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(oldHashes.length * 2);
+        for(int slot = 0; slot < oldHashes.length; ++slot)
+        {
+            if(oldHashes[slot] != EMPTY)
+            {
+                insert(oldHashes[slot], oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity)
+    {
+        keys = (K[]) new Object[capacity];
+        values = (V[]) new Object[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    private static int tableSizeFor(int expectedSize, float loadFactor)
+    {
+        int capacity = 2;
+        while(capacity < (1 << 30) && capacity * loadFactor < expectedSize)
+        {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // Mixes the bits of hashCode(), since the slot only uses the low bits. Never returns EMPTY.
+    private static int hash(Object key)
+    {
+        if(key == null) throw new IllegalArgumentException("Null keys are not supported");
+        int h = key.hashCode() * 0x9E3779B9;
+        h ^= h >>> 16;
+        return h == EMPTY ? 1 : h;
+    }
+
+    private class RobinHoodCursor implements Cursor<K, V>
+    {
+        private final int expectedVersion;
+        private int slot;
+
+        public RobinHoodCursor()
+        {
+            expectedVersion = version;
+            slot = -1;
+        }
+
+        @Override
+        public boolean advance()
+        {
+            if(expectedVersion != version)
+            {
+                throw new ConcurrentModificationException("Map has changed!");
+            }
+            do
+            {
+                ++slot;
+            }
+            while(slot < hashes.length && hashes[slot] == EMPTY);
+            return slot < hashes.length;
+        }
+
+        @Override
+        public K key()
+        {
+            checkPosition();
+            return keys[slot];
+        }
+
+        @Override
+        public V value()
+        {
+            checkPosition();
+            return values[slot];
+        }
+
+        private void checkPosition()
+        {
+            if(slot < 0 || slot >= hashes.length) throw new NoSuchElementException();
+        }
+    }
+}
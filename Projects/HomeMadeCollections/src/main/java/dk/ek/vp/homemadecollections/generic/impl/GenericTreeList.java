@@ -0,0 +1,310 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.PositionalList;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * List stored as an AVL tree ordered by position. Every node knows the size of its subtree, so the node at
+ * an index is found by comparing the index with the size of the left subtree on the way down.
+ * get, set, add and remove at any index are all O(log n).
+ */
+public class GenericTreeList<E> implements PositionalList<E>
+{
+    // An AVL tree with 2^31 nodes is less than 46 levels high.
+    private static final int MAX_HEIGHT = 48;
+
+    private int version;
+    private GenericTreeListNode<E> root;
+    private E removedValue;
+
+    public GenericTreeList()
+    {
+        root = null;
+        version = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size(root);
+    }
+
+    @Override
+    public void addLast(E element)
+    {
+        add(size(), element);
+    }
+
+    @Override
+    public void addFirst(E element)
+    {
+        add(0, element);
+    }
+
+    @Override
+    public void add(int index, E element)
+    {
+        int size = size();
+        if(index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        root = insert(root, index, element);
+        ++version;
+    }
+
+    @Override
+    public E removeLast()
+    {
+        if(root == null) throw new RuntimeException("List is empty");
+        return remove(size() - 1);
+    }
+
+    @Override
+    public E removeFirst()
+    {
+        if(root == null) throw new RuntimeException("List is empty");
+        return remove(0);
+    }
+
+    @Override
+    public E remove(int index)
+    {
+        int size = size();
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        root = delete(root, index);
+        ++version;
+        E element = removedValue;
+        removedValue = null;
+        return element;
+    }
+
+    @Override
+    public E get(int index)
+    {
+        return nodeAt(index).getValue();
+    }
+
+    @Override
+    public E set(int index, E element)
+    {
+        GenericTreeListNode<E> node = nodeAt(index);
+        E old = node.getValue();
+        node.setValue(element);
+        return old;
+    }
+
+    @Override
+    public void clear()
+    {
+        root = null;
+        ++version;
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        Object[] result = new Object[size()];
+        int i = 0;
+        for(E element : this)
+        {
+            result[i++] = element;
+        }
+        return result;
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new GenericTreeListIterator();
+    }
+
+    private GenericTreeListNode<E> nodeAt(int index)
+    {
+        int size = size();
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        GenericTreeListNode<E> node = root;
+        while(true)
+        {
+            int leftSize = size(node.getLeft());
+            if(index < leftSize)
+            {
+                node = node.getLeft();
+            }
+            else if(index > leftSize)
+            {
+                index -= leftSize + 1;
+                node = node.getRight();
+            }
+            else
+            {
+                return node;
+            }
+        }
+    }
+
+    private GenericTreeListNode<E> insert(GenericTreeListNode<E> node, int index, E element)
+    {
+        if(node == null)
+        {
+            return new GenericTreeListNode<>(element);
+        }
+        int leftSize = size(node.getLeft());
+        if(index <= leftSize)
+        {
+            node.setLeft(insert(node.getLeft(), index, element));
+        }
+        else
+        {
+            node.setRight(insert(node.getRight(), index - leftSize - 1, element));
+        }
+        return rebalance(node);
+    }
+
+    // Removes the node at index from the subtree and leaves its value in removedValue.
+    private GenericTreeListNode<E> delete(GenericTreeListNode<E> node, int index)
+    {
+        int leftSize = size(node.getLeft());
+        if(index < leftSize)
+        {
+            node.setLeft(delete(node.getLeft(), index));
+        }
+        else if(index > leftSize)
+        {
+            node.setRight(delete(node.getRight(), index - leftSize - 1));
+        }
+        else
+        {
+            removedValue = node.getValue();
+            if(node.getLeft() == null)
+            {
+                return node.getRight();
+            }
+            if(node.getRight() == null)
+            {
+                return node.getLeft();
+            }
+            GenericTreeListNode<E> successor = node.getRight();
+            while(successor.getLeft() != null)
+            {
+                successor = successor.getLeft();
+            }
+            successor.setRight(deleteFirst(node.getRight()));
+            successor.setLeft(node.getLeft());
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private GenericTreeListNode<E> deleteFirst(GenericTreeListNode<E> node)
+    {
+        if(node.getLeft() == null)
+        {
+            return node.getRight();
+        }
+        node.setLeft(deleteFirst(node.getLeft()));
+        return rebalance(node);
+    }
+
+    private GenericTreeListNode<E> rebalance(GenericTreeListNode<E> node)
+    {
+        node.update();
+        int balance = height(node.getLeft()) - height(node.getRight());
+        if(balance > 1)
+        {
+            if(height(node.getLeft().getLeft()) < height(node.getLeft().getRight()))
+            {
+                node.setLeft(rotateLeft(node.getLeft()));
+            }
+            return rotateRight(node);
+        }
+        if(balance < -1)
+        {
+            if(height(node.getRight().getRight()) < height(node.getRight().getLeft()))
+            {
+                node.setRight(rotateRight(node.getRight()));
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private GenericTreeListNode<E> rotateLeft(GenericTreeListNode<E> node)
+    {
+        GenericTreeListNode<E> pivot = node.getRight();
+        node.setRight(pivot.getLeft());
+        pivot.setLeft(node);
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private GenericTreeListNode<E> rotateRight(GenericTreeListNode<E> node)
+    {
+        GenericTreeListNode<E> pivot = node.getLeft();
+        node.setLeft(pivot.getRight());
+        pivot.setRight(node);
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    private static int size(GenericTreeListNode<?> node)
+    {
+        return node == null ? 0 : node.getSize();
+    }
+
+    private static int height(GenericTreeListNode<?> node)
+    {
+        return node == null ? 0 : node.getHeight();
+    }
+
+    // In-order walk with an explicit stack of the ancestors still to be visited.
+    private class GenericTreeListIterator implements Iterator<E>
+    {
+        private final int curVersion;
+        private final GenericTreeListNode<E>[] stack;
+        private int depth;
+
+        @SuppressWarnings("unchecked")
+        public GenericTreeListIterator()
+        {
+            curVersion = version;
+            stack = (GenericTreeListNode<E>[]) new GenericTreeListNode[MAX_HEIGHT];
+            depth = 0;
+            pushLeft(root);
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return depth > 0;
+        }
+
+        @Override
+        public E next()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            if(depth == 0) throw new NoSuchElementException();
+            GenericTreeListNode<E> node = stack[--depth];
+            pushLeft(node.getRight());
+            return node.getValue();
+        }
+
+        private void pushLeft(GenericTreeListNode<E> node)
+        {
+            while(node != null)
+            {
+                stack[depth++] = node;
+                node = node.getLeft();
+            }
+        }
+    }
+}
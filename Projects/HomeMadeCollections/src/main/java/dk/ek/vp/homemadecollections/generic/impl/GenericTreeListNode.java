@@ -0,0 +1,67 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+public class GenericTreeListNode<E>
+{
+    private E value;
+    private GenericTreeListNode<E> left;
+    private GenericTreeListNode<E> right;
+    private int height;
+    private int size;
+
+    public GenericTreeListNode(E value)
+    {
+        this.value = value;
+        this.height = 1;
+        this.size = 1;
+    }
+
+    public E getValue()
+    {
+        return value;
+    }
+
+    public void setValue(E value)
+    {
+        this.value = value;
+    }
+
+    public GenericTreeListNode<E> getLeft()
+    {
+        return left;
+    }
+
+    public GenericTreeListNode<E> getRight()
+    {
+        return right;
+    }
+
+    public void setLeft(GenericTreeListNode<E> left)
+    {
+        this.left = left;
+    }
+
+    public void setRight(GenericTreeListNode<E> right)
+    {
+        this.right = right;
+    }
+
+    public int getHeight()
+    {
+        return height;
+    }
+
+    // Number of nodes in the subtree rooted here.
+    public int getSize()
+    {
+        return size;
+    }
+
+    // Recomputes height and size from the children.
+    public void update()
+    {
+        int leftHeight = left == null ? 0 : left.height;
+        int rightHeight = right == null ? 0 : right.height;
+        height = 1 + Math.max(leftHeight, rightHeight);
+        size = 1 + (left == null ? 0 : left.size) + (right == null ? 0 : right.size);
+    }
+}
@@ -0,0 +1,294 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.PositionalList;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class GenericUnrolledLinkedList<E> implements PositionalList<E>
+{
+    private final int nodeCapacity;
+    private int version;
+    private GenericUnrolledListNode<E> first;
+    private GenericUnrolledListNode<E> last;
+    private int size;
+    private int foundOffset;
+
+    public GenericUnrolledLinkedList()
+    {
+        this(32);
+    }
+
+    public GenericUnrolledLinkedList(int nodeCapacity)
+    {
+        if(nodeCapacity < 2) throw new IllegalArgumentException("Node capacity must be at least 2: " + nodeCapacity);
+        this.nodeCapacity = nodeCapacity;
+        first = null;
+        last = null;
+        size = 0;
+        version = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(E element)
+    {
+        if(last == null || last.isFull())
+        {
+            linkAfter(last, new GenericUnrolledListNode<>(nodeCapacity));
+        }
+        last.insert(last.getCount(), element);
+        ++size;
+        ++version;
+    }
+
+    @Override
+    public void addFirst(E element)
+    {
+        if(first == null || first.isFull())
+        {
+            linkBefore(first, new GenericUnrolledListNode<>(nodeCapacity));
+        }
+        first.insert(0, element);
+        ++size;
+        ++version;
+    }
+
+    @Override
+    public void add(int index, E element)
+    {
+        if(index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if(index == size)
+        {
+            addLast(element);
+            return;
+        }
+        GenericUnrolledListNode<E> node = findNode(index);
+        int offset = foundOffset;
+        if(node.isFull())
+        {
+            GenericUnrolledListNode<E> newNode = new GenericUnrolledListNode<>(nodeCapacity);
+            linkAfter(node, newNode);
+            int half = node.getCount() / 2;
+            node.moveTailTo(newNode, half);
+            if(offset > half)
+            {
+                node = newNode;
+                offset -= half;
+            }
+        }
+        node.insert(offset, element);
+        ++size;
+        ++version;
+    }
+
+    @Override
+    public E removeLast()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        return removeAt(last, last.getCount() - 1);
+    }
+
+    @Override
+    public E removeFirst()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        return removeAt(first, 0);
+    }
+
+    @Override
+    public E remove(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        GenericUnrolledListNode<E> node = findNode(index);
+        return removeAt(node, foundOffset);
+    }
+
+    @Override
+    public E get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        GenericUnrolledListNode<E> node = findNode(index);
+        return node.get(foundOffset);
+    }
+
+    @Override
+    public E set(int index, E element)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        GenericUnrolledListNode<E> node = findNode(index);
+        return node.set(foundOffset, element);
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new GenericUnrolledListIterator();
+    }
+
+    private E removeAt(GenericUnrolledListNode<E> node, int offset)
+    {
+        E element = node.remove(offset);
+        --size;
+        ++version;
+        if(node.getCount() == 0)
+        {
+            unlink(node);
+        }
+        else if(node.getCount() < nodeCapacity / 2)
+        {
+            GenericUnrolledListNode<E> next = node.getNext();
+            GenericUnrolledListNode<E> prev = node.getPrev();
+            if(next != null && node.getCount() + next.getCount() <= nodeCapacity)
+            {
+                node.appendAll(next);
+                unlink(next);
+            }
+            else if(prev != null && prev.getCount() + node.getCount() <= nodeCapacity)
+            {
+                prev.appendAll(node);
+                unlink(node);
+            }
+        }
+        return element;
+    }
+
+    // Finds the node holding the given index and stores the position inside that node in foundOffset.
+    private GenericUnrolledListNode<E> findNode(int index)
+    {
+        GenericUnrolledListNode<E> node;
+        if(index < size / 2)
+        {
+            node = first;
+            while(index >= node.getCount())
+            {
+                index -= node.getCount();
+                node = node.getNext();
+            }
+            foundOffset = index;
+        }
+        else
+        {
+            node = last;
+            int nodeStart = size - node.getCount();
+            while(index < nodeStart)
+            {
+                node = node.getPrev();
+                nodeStart -= node.getCount();
+            }
+            foundOffset = index - nodeStart;
+        }
+        return node;
+    }
+
+    private void linkAfter(GenericUnrolledListNode<E> node, GenericUnrolledListNode<E> newNode)
+    {
+        if(node == null)
+        {
+            first = newNode;
+            last = newNode;
+            return;
+        }
+        GenericUnrolledListNode<E> next = node.getNext();
+        newNode.setPrev(node);
+        newNode.setNext(next);
+        node.setNext(newNode);
+        if(next == null)
+        {
+            last = newNode;
+        }
+        else
+        {
+            next.setPrev(newNode);
+        }
+    }
+
+    private void linkBefore(GenericUnrolledListNode<E> node, GenericUnrolledListNode<E> newNode)
+    {
+        if(node == null)
+        {
+            first = newNode;
+            last = newNode;
+            return;
+        }
+        GenericUnrolledListNode<E> prev = node.getPrev();
+        newNode.setNext(node);
+        newNode.setPrev(prev);
+        node.setPrev(newNode);
+        if(prev == null)
+        {
+            first = newNode;
+        }
+        else
+        {
+            prev.setNext(newNode);
+        }
+    }
+
+    private void unlink(GenericUnrolledListNode<E> node)
+    {
+        GenericUnrolledListNode<E> prev = node.getPrev();
+        GenericUnrolledListNode<E> next = node.getNext();
+        if(prev == null)
+        {
+            first = next;
+        }
+        else
+        {
+            prev.setNext(next);
+        }
+        if(next == null)
+        {
+            last = prev;
+        }
+        else
+        {
+            next.setPrev(prev);
+        }
+        node.setNext(null);
+        node.setPrev(null);
+    }
+
+    private class GenericUnrolledListIterator implements Iterator<E>
+    {
+        private final int curVersion;
+        private GenericUnrolledListNode<E> node;
+        private int offset;
+
+        public GenericUnrolledListIterator()
+        {
+            curVersion = version;
+            node = first;
+            offset = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return node != null;
+        }
+
+        @Override
+        public E next()
+        {
+            if(!hasNext()) throw new NoSuchElementException();
+            E element = node.get(offset++);
+            if(offset == node.getCount())
+            {
+                node = node.getNext();
+                offset = 0;
+            }
+            return element;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import java.util.Arrays;
+
+public class GenericUnrolledListNode<E>
+{
+    private final E[] elements;
+    private int count;
+    private GenericUnrolledListNode<E> next;
+    private GenericUnrolledListNode<E> prev;
+
+    @SuppressWarnings("unchecked")
+    public GenericUnrolledListNode(int capacity)
+    {
+        this.elements = (E[]) new Object[capacity];
+        this.count = 0;
+    }
+
+    public int getCount()
+    {
+        return count;
+    }
+
+    public int getCapacity()
+    {
+        return elements.length;
+    }
+
+    public boolean isFull()
+    {
+        return count == elements.length;
+    }
+
+    public E get(int offset)
+    {
+        return elements[offset];
+    }
+
+    public E set(int offset, E element)
+    {
+        E old = elements[offset];
+        elements[offset] = element;
+        return old;
+    }
+
+    public void insert(int offset, E element)
+    {
+        System.arraycopy(elements, offset, elements, offset + 1, count - offset);
+        elements[offset] = element;
+        ++count;
+    }
+
+    public E remove(int offset)
+    {
+        E element = elements[offset];
+        --count;
+        System.arraycopy(elements, offset + 1, elements, offset, count - offset);
+        elements[count] = null;
+        return element;
+    }
+
+    // Moves the elements from the given offset and up to the start of the (empty) target node.
+    public void moveTailTo(GenericUnrolledListNode<E> target, int from)
+    {
+        int moved = count - from;
+        System.arraycopy(elements, from, target.elements, 0, moved);
+        Arrays.fill(elements, from, count, null);
+        target.count = moved;
+        count = from;
+    }
+
+    // Appends all elements of the other node to this one, leaving the other node empty.
+    public void appendAll(GenericUnrolledListNode<E> other)
+    {
+        System.arraycopy(other.elements, 0, elements, count, other.count);
+        count += other.count;
+        Arrays.fill(other.elements, 0, other.count, null);
+        other.count = 0;
+    }
+
+    public GenericUnrolledListNode<E> getNext()
+    {
+        return next;
+    }
+
+    public GenericUnrolledListNode<E> getPrev()
+    {
+        return prev;
+    }
+
+    public void setNext(GenericUnrolledListNode<E> next)
+    {
+        this.next = next;
+    }
+
+    public void setPrev(GenericUnrolledListNode<E> prev)
+    {
+        this.prev = prev;
+    }
+}
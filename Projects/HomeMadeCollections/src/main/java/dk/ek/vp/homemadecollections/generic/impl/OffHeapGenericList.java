@@ -0,0 +1,196 @@
+package dk.ek.vp.homemadecollections.generic.impl;
+
+import dk.ek.vp.homemadecollections.generic.ElementCodec;
+import dk.ek.vp.homemadecollections.generic.GenericList;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+/**
+ * A circular-buffer list whose elements live in native memory, encoded by an {@link ElementCodec}.
+ * The memory is released by {@link #close()}; any use after that throws IllegalStateException.
+ * Like the other lists it is confined to the thread that created it.
+ */
+public class OffHeapGenericList<E> implements GenericList<E>, AutoCloseable
+{
+    private final ElementCodec<E> codec;
+    private final long elementSize;
+    private int version;
+    private Arena arena;
+    private MemorySegment segment;
+    private int capacity;
+    private int head;
+    private int size;
+
+    public OffHeapGenericList(ElementCodec<E> codec)
+    {
+        this(codec, 8);
+    }
+
+    public OffHeapGenericList(ElementCodec<E> codec, int initialCapacity)
+    {
+        if(initialCapacity < 1) throw new IllegalArgumentException("Initial capacity must be positive: " + initialCapacity);
+        this.codec = codec;
+        this.elementSize = codec.byteSize();
+        this.arena = Arena.ofConfined();
+        this.segment = arena.allocate(elementSize * initialCapacity, Long.BYTES);
+        this.capacity = initialCapacity;
+        head = 0;
+        size = 0;
+        version = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(E element)
+    {
+        ++version;
+        ensureCapacity();
+        codec.write(segment, offset(size), element);
+        ++size;
+    }
+
+    @Override
+    public void addFirst(E element)
+    {
+        ++version;
+        ensureCapacity();
+        head = (head == 0) ? capacity - 1 : head - 1;
+        codec.write(segment, (long) head * elementSize, element);
+        ++size;
+    }
+
+    @Override
+    public E removeLast()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        return codec.read(segment, offset(--size));
+    }
+
+    @Override
+    public E removeFirst()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        E element = codec.read(segment, (long) head * elementSize);
+        head = (head + 1 == capacity) ? 0 : head + 1;
+        --size;
+        return element;
+    }
+
+    @Override
+    public E get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return codec.read(segment, offset(index));
+    }
+
+    public E get(int index, E holder)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return codec.readInto(segment, offset(index), holder);
+    }
+
+    @Override
+    public void clear()
+    {
+        ++version;
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity)
+    {
+        if(minCapacity > capacity)
+        {
+            grow(minCapacity);
+        }
+    }
+
+    public long byteCapacity()
+    {
+        return segment.byteSize();
+    }
+
+    @Override
+    public void close()
+    {
+        arena.close();
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new OffHeapIterator();
+    }
+
+    private long offset(int index)
+    {
+        int i = head + index;
+        return (long) (i < capacity ? i : i - capacity) * elementSize;
+    }
+
+    private void ensureCapacity()
+    {
+        if(size == capacity)
+        {
+            if(capacity > Integer.MAX_VALUE / 2) throw new IllegalStateException("List is too large");
+            grow(capacity * 2);
+        }
+    }
+
+    private void grow(int newCapacity)
+    {
+        Arena newArena = Arena.ofConfined();
+        MemorySegment newSegment = newArena.allocate(elementSize * newCapacity, Long.BYTES);
+        int firstPart = Math.min(size, capacity - head);
+        MemorySegment.copy(segment, (long) head * elementSize, newSegment, 0, firstPart * elementSize);
+        MemorySegment.copy(segment, 0, newSegment, firstPart * elementSize, (size - firstPart) * elementSize);
+        arena.close();
+        arena = newArena;
+        segment = newSegment;
+        capacity = newCapacity;
+        head = 0;
+    }
+
+    private class OffHeapIterator implements Iterator<E>
+    {
+        private final int curVersion;
+        private int curIndex;
+
+        public OffHeapIterator()
+        {
+            curVersion = version;
+            curIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return curIndex < size;
+        }
+
+        @Override
+        public E next()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return codec.read(segment, offset(curIndex++));
+        }
+    }
+}
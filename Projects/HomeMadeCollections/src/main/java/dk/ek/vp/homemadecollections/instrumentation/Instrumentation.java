@@ -0,0 +1,17 @@
+package dk.ek.vp.homemadecollections.instrumentation;
+
+/**
+ * Switches for the collection instrumentation, read once from system properties at startup.
+ * When ENABLED is false every instrumentation call site is guarded by a constant false,
+ * so the JIT removes it completely.
+ */
+public final class Instrumentation
+{
+    public static final boolean ENABLED = Boolean.getBoolean("homemadecollections.instrumentation");
+    public static final int SHIFT_THRESHOLD = Integer.getInteger("homemadecollections.instrumentation.shiftThreshold", 1024);
+    public static final int TRAVERSAL_THRESHOLD = Integer.getInteger("homemadecollections.instrumentation.traversalThreshold", 1024);
+
+    private Instrumentation()
+    {
+    }
+}
@@ -0,0 +1,6 @@
+package dk.ek.vp.homemadecollections.instrumentation;
+
+public interface Instrumented
+{
+    OperationCounters operationCounters();
+}
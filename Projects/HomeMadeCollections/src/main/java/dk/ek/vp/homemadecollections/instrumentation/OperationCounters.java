@@ -0,0 +1,97 @@
+package dk.ek.vp.homemadecollections.instrumentation;
+
+/**
+ * Per-collection counters. Only written by the collection's own operations, so the fields are plain longs.
+ * Operations above the thresholds in Instrumentation are also reported as JFR events.
+ */
+public class OperationCounters
+{
+    // Shared by all collections while instrumentation is disabled, and never written.
+    public static final OperationCounters DISABLED = new OperationCounters(null);
+
+    private final String collection;
+    private long elementsShifted;
+    private long nodesTraversed;
+    private long resizes;
+
+    private OperationCounters(String collection)
+    {
+        this.collection = collection;
+    }
+
+    public static OperationCounters create(Object owner)
+    {
+        return Instrumentation.ENABLED ? new OperationCounters(owner.getClass().getName()) : DISABLED;
+    }
+
+    public void shifted(int elements)
+    {
+        elementsShifted += elements;
+        if(elements >= Instrumentation.SHIFT_THRESHOLD)
+        {
+            ShiftEvent event = new ShiftEvent();
+            if(event.isEnabled())
+            {
+                event.collection = collection;
+                event.elements = elements;
+                event.commit();
+            }
+        }
+    }
+
+    public void traversed(int nodes)
+    {
+        nodesTraversed += nodes;
+        if(nodes >= Instrumentation.TRAVERSAL_THRESHOLD)
+        {
+            TraversalEvent event = new TraversalEvent();
+            if(event.isEnabled())
+            {
+                event.collection = collection;
+                event.nodes = nodes;
+                event.commit();
+            }
+        }
+    }
+
+    public void resized(int oldCapacity, int newCapacity)
+    {
+        ++resizes;
+        ResizeEvent event = new ResizeEvent();
+        if(event.isEnabled())
+        {
+            event.collection = collection;
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.commit();
+        }
+    }
+
+    public long getElementsShifted()
+    {
+        return elementsShifted;
+    }
+
+    public long getNodesTraversed()
+    {
+        return nodesTraversed;
+    }
+
+    public long getResizes()
+    {
+        return resizes;
+    }
+
+    public void reset()
+    {
+        elementsShifted = 0;
+        nodesTraversed = 0;
+        resizes = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "OperationCounters{elementsShifted=" + elementsShifted + ", nodesTraversed=" + nodesTraversed + ", resizes=" + resizes + "}";
+    }
+}
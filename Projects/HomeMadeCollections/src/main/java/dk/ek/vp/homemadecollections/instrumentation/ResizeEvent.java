@@ -0,0 +1,23 @@
+package dk.ek.vp.homemadecollections.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dk.ek.vp.homemadecollections.Resize")
+@Label("Collection Resize")
+@Category("Home-made Collections")
+@Description("The backing storage of a collection was reallocated")
+class ResizeEvent extends Event
+{
+    @Label("Collection")
+    String collection;
+
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    @Label("New Capacity")
+    int newCapacity;
+}
@@ -0,0 +1,20 @@
+package dk.ek.vp.homemadecollections.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dk.ek.vp.homemadecollections.Shift")
+@Label("Large Shift")
+@Category("Home-made Collections")
+@Description("A single operation moved many elements inside the backing array")
+class ShiftEvent extends Event
+{
+    @Label("Collection")
+    String collection;
+
+    @Label("Elements")
+    int elements;
+}
@@ -0,0 +1,20 @@
+package dk.ek.vp.homemadecollections.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("dk.ek.vp.homemadecollections.Traversal")
+@Label("Long Traversal")
+@Category("Home-made Collections")
+@Description("A single lookup walked many nodes of a linked list")
+class TraversalEvent extends Event
+{
+    @Label("Collection")
+    String collection;
+
+    @Label("Nodes")
+    int nodes;
+}
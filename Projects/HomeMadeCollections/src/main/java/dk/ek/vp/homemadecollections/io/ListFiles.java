@@ -0,0 +1,107 @@
+package dk.ek.vp.homemadecollections.io;
+
+import dk.ek.vp.homemadecollections.generic.ElementCodec;
+import dk.ek.vp.homemadecollections.generic.GenericList;
+import dk.ek.vp.homemadecollections.generic.impl.ElementCodecs;
+import dk.ek.vp.homemadecollections.generic.impl.GenericArrayList;
+import dk.ek.vp.homemadecollections.primitive.DoubleList;
+import dk.ek.vp.homemadecollections.primitive.IntList;
+import dk.ek.vp.homemadecollections.primitive.LongList;
+import dk.ek.vp.homemadecollections.primitive.impl.DoubleArrayList;
+import dk.ek.vp.homemadecollections.primitive.impl.IntArrayList;
+import dk.ek.vp.homemadecollections.primitive.impl.LongArrayList;
+
+import java.nio.file.Path;
+
+/**
+ * Whole-list helpers on top of ListWriter and MappedGenericList.
+ * The primitive versions write and read the values without boxing them.
+ */
+public final class ListFiles
+{
+    private ListFiles()
+    {
+    }
+
+    public static <E> void write(Path file, Iterable<? extends E> elements, ElementCodec<E> codec)
+    {
+        try(ListWriter<E> writer = new ListWriter<>(file, codec))
+        {
+            writer.writeAll(elements);
+        }
+    }
+
+    // Decodes the whole file into a new GenericArrayList. Use MappedGenericList to read it lazily instead.
+    public static <E> GenericList<E> read(Path file, ElementCodec<E> codec)
+    {
+        try(MappedGenericList<E> mapped = new MappedGenericList<>(file, codec))
+        {
+            GenericArrayList<E> result = new GenericArrayList<>();
+            result.addAll(mapped);
+            return result;
+        }
+    }
+
+    public static void writeInts(Path file, IntList values)
+    {
+        try(ListWriter<Integer> writer = new ListWriter<>(file, ElementCodecs.INT))
+        {
+            values.forEachInt(writer::writeInt);
+        }
+    }
+
+    public static IntList readInts(Path file)
+    {
+        try(MappedGenericList<Integer> mapped = new MappedGenericList<>(file, ElementCodecs.INT))
+        {
+            IntArrayList result = new IntArrayList();
+            for(int i = 0; i < mapped.size(); ++i)
+            {
+                result.addLast(mapped.getInt(i));
+            }
+            return result;
+        }
+    }
+
+    public static void writeLongs(Path file, LongList values)
+    {
+        try(ListWriter<Long> writer = new ListWriter<>(file, ElementCodecs.LONG))
+        {
+            values.forEachLong(writer::writeLong);
+        }
+    }
+
+    public static LongList readLongs(Path file)
+    {
+        try(MappedGenericList<Long> mapped = new MappedGenericList<>(file, ElementCodecs.LONG))
+        {
+            LongArrayList result = new LongArrayList();
+            for(int i = 0; i < mapped.size(); ++i)
+            {
+                result.addLast(mapped.getLong(i));
+            }
+            return result;
+        }
+    }
+
+    public static void writeDoubles(Path file, DoubleList values)
+    {
+        try(ListWriter<Double> writer = new ListWriter<>(file, ElementCodecs.DOUBLE))
+        {
+            values.forEachDouble(writer::writeDouble);
+        }
+    }
+
+    public static DoubleList readDoubles(Path file)
+    {
+        try(MappedGenericList<Double> mapped = new MappedGenericList<>(file, ElementCodecs.DOUBLE))
+        {
+            DoubleArrayList result = new DoubleArrayList();
+            for(int i = 0; i < mapped.size(); ++i)
+            {
+                result.addLast(mapped.getDouble(i));
+            }
+            return result;
+        }
+    }
+}
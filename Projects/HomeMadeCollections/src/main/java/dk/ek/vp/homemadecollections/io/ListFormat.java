@@ -0,0 +1,60 @@
+package dk.ek.vp.homemadecollections.io;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Layout of a list file. A 24 byte header is followed by count elements of width bytes each:
+ * <pre>
+ *   0  int   magic "HMCL"
+ *   4  int   format version
+ *   8  int   element width in bytes
+ *   12 int   reserved, zero
+ *   16 long  element count
+ *   24       elements
+ * </pre>
+ * Everything is stored in native byte order, like the element codecs. A file from a machine with the other
+ * byte order is recognized by its byte-swapped magic number and rejected.
+ */
+final class ListFormat
+{
+    static final int MAGIC = 0x484D434C;
+    static final int VERSION = 1;
+    static final long MAGIC_OFFSET = 0;
+    static final long VERSION_OFFSET = 4;
+    static final long WIDTH_OFFSET = 8;
+    static final long COUNT_OFFSET = 16;
+    static final long HEADER_SIZE = 24;
+
+    private ListFormat()
+    {
+    }
+
+    static void writeHeader(MemorySegment segment, long width, long count)
+    {
+        segment.set(ValueLayout.JAVA_INT_UNALIGNED, MAGIC_OFFSET, MAGIC);
+        segment.set(ValueLayout.JAVA_INT_UNALIGNED, VERSION_OFFSET, VERSION);
+        segment.set(ValueLayout.JAVA_INT_UNALIGNED, WIDTH_OFFSET, (int) width);
+        segment.set(ValueLayout.JAVA_INT_UNALIGNED, WIDTH_OFFSET + 4, 0);
+        segment.set(ValueLayout.JAVA_LONG_UNALIGNED, COUNT_OFFSET, count);
+    }
+
+    // Checks the header against the expected element width and returns the element count.
+    static long readHeader(MemorySegment segment, long width)
+    {
+        if(segment.byteSize() < HEADER_SIZE) throw new IllegalArgumentException("Not a list file: too short");
+        int magic = segment.get(ValueLayout.JAVA_INT_UNALIGNED, MAGIC_OFFSET);
+        if(magic == Integer.reverseBytes(MAGIC)) throw new IllegalArgumentException("List file was written with a different byte order");
+        if(magic != MAGIC) throw new IllegalArgumentException("Not a list file: bad magic " + Integer.toHexString(magic));
+        int version = segment.get(ValueLayout.JAVA_INT_UNALIGNED, VERSION_OFFSET);
+        if(version != VERSION) throw new IllegalArgumentException("Unsupported list file version: " + version);
+        int fileWidth = segment.get(ValueLayout.JAVA_INT_UNALIGNED, WIDTH_OFFSET);
+        if(fileWidth != width) throw new IllegalArgumentException("Element width is " + fileWidth + " bytes, codec expects " + width);
+        long count = segment.get(ValueLayout.JAVA_LONG_UNALIGNED, COUNT_OFFSET);
+        if(count < 0 || count > Integer.MAX_VALUE || HEADER_SIZE + count * width > segment.byteSize())
+        {
+            throw new IllegalArgumentException("List file is truncated or has a bad count: " + count);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,159 @@
+package dk.ek.vp.homemadecollections.io;
+
+import dk.ek.vp.homemadecollections.generic.ElementCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams elements into a list file through a buffer, so any number of elements can be written without
+ * holding them in memory. The element count in the header is filled in by {@link #close()}.
+ * writeInt, writeLong and writeDouble skip boxing and the codec for 4 and 8 byte elements.
+ */
+public class ListWriter<E> implements AutoCloseable
+{
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final ElementCodec<E> codec;
+    private final long width;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final MemorySegment bufferSegment;
+    private long position;
+    private long count;
+    private boolean closed;
+
+    public ListWriter(Path file, ElementCodec<E> codec)
+    {
+        this.codec = codec;
+        this.width = codec.byteSize();
+        try
+        {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        buffer = ByteBuffer.allocate((int) Math.max(BUFFER_SIZE, width));
+        bufferSegment = MemorySegment.ofBuffer(buffer);
+        ListFormat.writeHeader(bufferSegment, width, 0);
+        position = ListFormat.HEADER_SIZE;
+        count = 0;
+        closed = false;
+    }
+
+    public void write(E element)
+    {
+        reserve();
+        codec.write(bufferSegment, position, element);
+        position += width;
+        ++count;
+    }
+
+    public void writeAll(Iterable<? extends E> elements)
+    {
+        for(E element : elements)
+        {
+            write(element);
+        }
+    }
+
+    public void writeInt(int value)
+    {
+        checkWidth(Integer.BYTES);
+        reserve();
+        bufferSegment.set(ValueLayout.JAVA_INT_UNALIGNED, position, value);
+        position += Integer.BYTES;
+        ++count;
+    }
+
+    public void writeLong(long value)
+    {
+        checkWidth(Long.BYTES);
+        reserve();
+        bufferSegment.set(ValueLayout.JAVA_LONG_UNALIGNED, position, value);
+        position += Long.BYTES;
+        ++count;
+    }
+
+    public void writeDouble(double value)
+    {
+        checkWidth(Double.BYTES);
+        reserve();
+        bufferSegment.set(ValueLayout.JAVA_DOUBLE_UNALIGNED, position, value);
+        position += Double.BYTES;
+        ++count;
+    }
+
+    public long count()
+    {
+        return count;
+    }
+
+    @Override
+    public void close()
+    {
+        if(closed)
+        {
+            return;
+        }
+        closed = true;
+        try(channel)
+        {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate((int) ListFormat.HEADER_SIZE);
+            ListFormat.writeHeader(MemorySegment.ofBuffer(header), width, count);
+            writeFully(header, 0);
+        }
+        catch(IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void checkWidth(int bytes)
+    {
+        if(width != bytes) throw new IllegalStateException("Element width is " + width + " bytes, not " + bytes);
+    }
+
+    private void reserve()
+    {
+        if(closed) throw new IllegalStateException("Writer is closed");
+        if(position + width > buffer.capacity())
+        {
+            try
+            {
+                flush();
+            }
+            catch(IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void flush() throws IOException
+    {
+        buffer.clear().limit((int) position);
+        while(buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        position = 0;
+    }
+
+    private void writeFully(ByteBuffer source, long filePosition) throws IOException
+    {
+        while(source.hasRemaining())
+        {
+            filePosition += channel.write(source, filePosition);
+        }
+    }
+}
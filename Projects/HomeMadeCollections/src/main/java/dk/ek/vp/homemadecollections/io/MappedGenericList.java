@@ -0,0 +1,156 @@
+package dk.ek.vp.homemadecollections.io;
+
+import dk.ek.vp.homemadecollections.generic.ElementCodec;
+import dk.ek.vp.homemadecollections.generic.GenericList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Read-only list over a memory-mapped list file. Nothing is decoded up front: get decodes one element
+ * straight from the mapping. The mapping is released by {@link #close()}, after which any access throws
+ * IllegalStateException. Since the list never changes it may be read from several threads.
+ */
+public class MappedGenericList<E> implements GenericList<E>, AutoCloseable
+{
+    private final ElementCodec<E> codec;
+    private final long width;
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final int size;
+
+    public MappedGenericList(Path file, ElementCodec<E> codec)
+    {
+        this.codec = codec;
+        this.width = codec.byteSize();
+        this.arena = Arena.ofShared();
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            size = (int) ListFormat.readHeader(segment, width);
+        }
+        catch(IOException e)
+        {
+            arena.close();
+            throw new UncheckedIOException(e);
+        }
+        catch(RuntimeException e)
+        {
+            arena.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public E get(int index)
+    {
+        return codec.read(segment, offset(index));
+    }
+
+    public E get(int index, E holder)
+    {
+        return codec.readInto(segment, offset(index), holder);
+    }
+
+    public int getInt(int index)
+    {
+        checkWidth(Integer.BYTES);
+        return segment.get(ValueLayout.JAVA_INT_UNALIGNED, offset(index));
+    }
+
+    public long getLong(int index)
+    {
+        checkWidth(Long.BYTES);
+        return segment.get(ValueLayout.JAVA_LONG_UNALIGNED, offset(index));
+    }
+
+    public double getDouble(int index)
+    {
+        checkWidth(Double.BYTES);
+        return segment.get(ValueLayout.JAVA_DOUBLE_UNALIGNED, offset(index));
+    }
+
+    @Override
+    public void addLast(E element)
+    {
+        throw new UnsupportedOperationException("List is read-only");
+    }
+
+    @Override
+    public void addFirst(E element)
+    {
+        throw new UnsupportedOperationException("List is read-only");
+    }
+
+    @Override
+    public E removeLast()
+    {
+        throw new UnsupportedOperationException("List is read-only");
+    }
+
+    @Override
+    public E removeFirst()
+    {
+        throw new UnsupportedOperationException("List is read-only");
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new MappedIterator();
+    }
+
+    @Override
+    public void close()
+    {
+        arena.close();
+    }
+
+    private long offset(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return ListFormat.HEADER_SIZE + index * width;
+    }
+
+    private void checkWidth(int bytes)
+    {
+        if(width != bytes) throw new IllegalStateException("Element width is " + width + " bytes, not " + bytes);
+    }
+
+    private class MappedIterator implements Iterator<E>
+    {
+        private int curIndex;
+
+        public MappedIterator()
+        {
+            curIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return curIndex < size;
+        }
+
+        @Override
+        public E next()
+        {
+            if(curIndex >= size) throw new NoSuchElementException();
+            return get(curIndex++);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package dk.ek.vp.homemadecollections.persistent;
+
+/**
+ * An immutable list. Operations that change the list return a new version and leave this one untouched,
+ * so holding on to a version is a free snapshot.
+ */
+public interface PersistentList<E> extends Iterable<E>
+{
+    int size();
+    E get(int index);
+    PersistentList<E> addLast(E element);
+    PersistentList<E> removeLast();
+    PersistentList<E> set(int index, E element);
+}
@@ -0,0 +1,250 @@
+package dk.ek.vp.homemadecollections.persistent.impl;
+
+import dk.ek.vp.homemadecollections.persistent.PersistentList;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static dk.ek.vp.homemadecollections.persistent.impl.VectorNode.BITS;
+import static dk.ek.vp.homemadecollections.persistent.impl.VectorNode.MASK;
+import static dk.ek.vp.homemadecollections.persistent.impl.VectorNode.WIDTH;
+
+/**
+ * Persistent vector: a 32-way trie of full leaf arrays plus a tail array holding the last (up to) 32 elements.
+ * addLast and removeLast usually only copy the tail; otherwise they copy one path of at most log32(n) nodes
+ * and share everything else with the previous version.
+ */
+public class PersistentVector<E> implements PersistentList<E>
+{
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, VectorNode.EMPTY, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final VectorNode root;
+    private final Object[] tail;
+
+    PersistentVector(int size, int shift, VectorNode root, Object[] tail)
+    {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty()
+    {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    public static <E> PersistentVector<E> copyOf(Iterable<? extends E> elements)
+    {
+        TransientVector<E> builder = PersistentVector.<E>empty().toTransient();
+        for(E element : elements)
+        {
+            builder.addLast(element);
+        }
+        return builder.toPersistent();
+    }
+
+    public TransientVector<E> toTransient()
+    {
+        return new TransientVector<>(size, shift, root, tail);
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return (E) arrayFor(index)[index & MASK];
+    }
+
+    @Override
+    public PersistentVector<E> addLast(E element)
+    {
+        if(size - tailOffset() < WIDTH)
+        {
+            Object[] newTail = new Object[tail.length + 1];
+            System.arraycopy(tail, 0, newTail, 0, tail.length);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        VectorNode tailNode = new VectorNode(null, tail);
+        VectorNode newRoot;
+        int newShift = shift;
+        if((size >>> BITS) > (1 << shift))
+        {
+            newRoot = new VectorNode(null);
+            newRoot.array[0] = root;
+            newRoot.array[1] = VectorNode.newPath(null, shift, tailNode);
+            newShift += BITS;
+        }
+        else
+        {
+            newRoot = pushTail(shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{element});
+    }
+
+    @Override
+    public PersistentVector<E> removeLast()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        if(size == 1)
+        {
+            return empty();
+        }
+        if(size - tailOffset() > 1)
+        {
+            Object[] newTail = new Object[tail.length - 1];
+            System.arraycopy(tail, 0, newTail, 0, newTail.length);
+            return new PersistentVector<>(size - 1, shift, root, newTail);
+        }
+        Object[] newTail = arrayFor(size - 2);
+        VectorNode newRoot = popTail(shift, root);
+        int newShift = shift;
+        if(newRoot == null)
+        {
+            newRoot = VectorNode.EMPTY;
+        }
+        if(shift > BITS && newRoot.array[1] == null)
+        {
+            newRoot = (VectorNode) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    @Override
+    public PersistentVector<E> set(int index, E element)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if(index >= tailOffset())
+        {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, element), tail);
+    }
+
+    @Override
+    public Iterator<E> iterator()
+    {
+        return new PersistentVectorIterator();
+    }
+
+    private int tailOffset()
+    {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] arrayFor(int index)
+    {
+        if(index >= tailOffset())
+        {
+            return tail;
+        }
+        VectorNode node = root;
+        for(int level = shift; level > 0; level -= BITS)
+        {
+            node = (VectorNode) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private VectorNode pushTail(int level, VectorNode parent, VectorNode tailNode)
+    {
+        int subIndex = ((size - 1) >>> level) & MASK;
+        VectorNode result = new VectorNode(null, parent.array.clone());
+        VectorNode toInsert;
+        if(level == BITS)
+        {
+            toInsert = tailNode;
+        }
+        else
+        {
+            VectorNode child = (VectorNode) parent.array[subIndex];
+            toInsert = (child != null)
+                    ? pushTail(level - BITS, child, tailNode)
+                    : VectorNode.newPath(null, level - BITS, tailNode);
+        }
+        result.array[subIndex] = toInsert;
+        return result;
+    }
+
+    private VectorNode popTail(int level, VectorNode node)
+    {
+        int subIndex = ((size - 2) >>> level) & MASK;
+        if(level > BITS)
+        {
+            VectorNode newChild = popTail(level - BITS, (VectorNode) node.array[subIndex]);
+            if(newChild == null && subIndex == 0)
+            {
+                return null;
+            }
+            VectorNode result = new VectorNode(null, node.array.clone());
+            result.array[subIndex] = newChild;
+            return result;
+        }
+        if(subIndex == 0)
+        {
+            return null;
+        }
+        VectorNode result = new VectorNode(null, node.array.clone());
+        result.array[subIndex] = null;
+        return result;
+    }
+
+    private static VectorNode assoc(int level, VectorNode node, int index, Object element)
+    {
+        VectorNode result = new VectorNode(null, node.array.clone());
+        if(level == 0)
+        {
+            result.array[index & MASK] = element;
+        }
+        else
+        {
+            int subIndex = (index >>> level) & MASK;
+            result.array[subIndex] = assoc(level - BITS, (VectorNode) node.array[subIndex], index, element);
+        }
+        return result;
+    }
+
+    private class PersistentVectorIterator implements Iterator<E>
+    {
+        private int index;
+        private Object[] chunk;
+
+        public PersistentVectorIterator()
+        {
+            index = 0;
+            chunk = size > 0 ? arrayFor(0) : null;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return index < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next()
+        {
+            if(index >= size) throw new NoSuchElementException();
+            if(index > 0 && (index & MASK) == 0)
+            {
+                chunk = arrayFor(index);
+            }
+            return (E) chunk[index++ & MASK];
+        }
+    }
+}
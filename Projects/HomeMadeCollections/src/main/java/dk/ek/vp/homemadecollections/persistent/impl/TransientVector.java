@@ -0,0 +1,216 @@
+package dk.ek.vp.homemadecollections.persistent.impl;
+
+import static dk.ek.vp.homemadecollections.persistent.impl.VectorNode.BITS;
+import static dk.ek.vp.homemadecollections.persistent.impl.VectorNode.MASK;
+import static dk.ek.vp.homemadecollections.persistent.impl.VectorNode.WIDTH;
+
+/**
+ * Mutable builder for a PersistentVector. Nodes it creates are tagged with its owner token and changed in place,
+ * so bulk loading does not copy a path per element. Nodes shared with the vector it came from are copied
+ * once, on first change. After toPersistent() the builder can no longer be used.
+ */
+public class TransientVector<E>
+{
+    private Object owner;
+    private int size;
+    private int shift;
+    private VectorNode root;
+    private Object[] tail;
+
+    TransientVector(int size, int shift, VectorNode root, Object[] tail)
+    {
+        this.owner = new Object();
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = new Object[WIDTH];
+        System.arraycopy(tail, 0, this.tail, 0, tail.length);
+    }
+
+    public int size()
+    {
+        ensureUsable();
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(int index)
+    {
+        ensureUsable();
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return (E) arrayFor(index)[index & MASK];
+    }
+
+    public void addLast(E element)
+    {
+        ensureUsable();
+        if(size - tailOffset() < WIDTH)
+        {
+            tail[size & MASK] = element;
+            ++size;
+            return;
+        }
+        VectorNode tailNode = new VectorNode(owner, tail);
+        tail = new Object[WIDTH];
+        tail[0] = element;
+        if((size >>> BITS) > (1 << shift))
+        {
+            VectorNode newRoot = new VectorNode(owner);
+            newRoot.array[0] = root;
+            newRoot.array[1] = VectorNode.newPath(owner, shift, tailNode);
+            root = newRoot;
+            shift += BITS;
+        }
+        else
+        {
+            root = pushTail(shift, root, tailNode);
+        }
+        ++size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E removeLast()
+    {
+        ensureUsable();
+        if(size == 0) throw new RuntimeException("List is empty");
+        int last = size - 1;
+        E element = (E) arrayFor(last)[last & MASK];
+        if(size == 1 || (last & MASK) > 0)
+        {
+            tail[last & MASK] = null;
+            --size;
+            return element;
+        }
+        Object[] newTail = arrayFor(size - 2).clone();
+        VectorNode newRoot = popTail(shift, root);
+        if(newRoot == null)
+        {
+            newRoot = new VectorNode(owner);
+        }
+        if(shift > BITS && newRoot.array[1] == null)
+        {
+            newRoot = ensureEditable((VectorNode) newRoot.array[0]);
+            shift -= BITS;
+        }
+        root = newRoot;
+        tail = newTail;
+        --size;
+        return element;
+    }
+
+    public void set(int index, E element)
+    {
+        ensureUsable();
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if(index >= tailOffset())
+        {
+            tail[index & MASK] = element;
+            return;
+        }
+        root = assoc(shift, root, index, element);
+    }
+
+    public PersistentVector<E> toPersistent()
+    {
+        ensureUsable();
+        owner = null;
+        if(size == 0)
+        {
+            return PersistentVector.empty();
+        }
+        int tailLength = size - tailOffset();
+        Object[] trimmedTail = new Object[tailLength];
+        System.arraycopy(tail, 0, trimmedTail, 0, tailLength);
+        return new PersistentVector<>(size, shift, root, trimmedTail);
+    }
+
+    private void ensureUsable()
+    {
+        if(owner == null) throw new IllegalStateException("Transient used after toPersistent()");
+    }
+
+    private VectorNode ensureEditable(VectorNode node)
+    {
+        if(node.owner == owner)
+        {
+            return node;
+        }
+        return new VectorNode(owner, node.array.clone());
+    }
+
+    private int tailOffset()
+    {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    private Object[] arrayFor(int index)
+    {
+        if(index >= tailOffset())
+        {
+            return tail;
+        }
+        VectorNode node = root;
+        for(int level = shift; level > 0; level -= BITS)
+        {
+            node = (VectorNode) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    private VectorNode pushTail(int level, VectorNode parent, VectorNode tailNode)
+    {
+        VectorNode result = ensureEditable(parent);
+        int subIndex = ((size - 1) >>> level) & MASK;
+        VectorNode toInsert;
+        if(level == BITS)
+        {
+            toInsert = tailNode;
+        }
+        else
+        {
+            VectorNode child = (VectorNode) result.array[subIndex];
+            toInsert = (child != null)
+                    ? pushTail(level - BITS, child, tailNode)
+                    : VectorNode.newPath(owner, level - BITS, tailNode);
+        }
+        result.array[subIndex] = toInsert;
+        return result;
+    }
+
+    private VectorNode popTail(int level, VectorNode node)
+    {
+        VectorNode result = ensureEditable(node);
+        int subIndex = ((size - 2) >>> level) & MASK;
+        if(level > BITS)
+        {
+            VectorNode newChild = popTail(level - BITS, (VectorNode) result.array[subIndex]);
+            if(newChild == null && subIndex == 0)
+            {
+                return null;
+            }
+            result.array[subIndex] = newChild;
+            return result;
+        }
+        if(subIndex == 0)
+        {
+            return null;
+        }
+        result.array[subIndex] = null;
+        return result;
+    }
+
+    private VectorNode assoc(int level, VectorNode node, int index, Object element)
+    {
+        VectorNode result = ensureEditable(node);
+        if(level == 0)
+        {
+            result.array[index & MASK] = element;
+        }
+        else
+        {
+            int subIndex = (index >>> level) & MASK;
+            result.array[subIndex] = assoc(level - BITS, (VectorNode) result.array[subIndex], index, element);
+        }
+        return result;
+    }
+}
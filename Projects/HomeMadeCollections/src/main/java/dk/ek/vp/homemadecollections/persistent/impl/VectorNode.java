@@ -0,0 +1,35 @@
+package dk.ek.vp.homemadecollections.persistent.impl;
+
+// A 32-way trie node. Nodes created by a transient carry its owner token and may be changed in place by it.
+class VectorNode
+{
+    static final int BITS = 5;
+    static final int WIDTH = 1 << BITS;
+    static final int MASK = WIDTH - 1;
+    static final VectorNode EMPTY = new VectorNode(null, new Object[WIDTH]);
+
+    final Object owner;
+    final Object[] array;
+
+    VectorNode(Object owner, Object[] array)
+    {
+        this.owner = owner;
+        this.array = array;
+    }
+
+    VectorNode(Object owner)
+    {
+        this(owner, new Object[WIDTH]);
+    }
+
+    static VectorNode newPath(Object owner, int level, VectorNode node)
+    {
+        if(level == 0)
+        {
+            return node;
+        }
+        VectorNode result = new VectorNode(owner);
+        result.array[0] = newPath(owner, level - BITS, node);
+        return result;
+    }
+}
@@ -0,0 +1,26 @@
+package dk.ek.vp.homemadecollections.primitive;
+
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+
+public interface DoubleList extends Iterable<Double>
+{
+    int size();
+    void addLast(double value);
+    void addFirst(double value);
+    double removeLast();
+    double removeFirst();
+    double get(int index);
+
+    @Override
+    PrimitiveIterator.OfDouble iterator();
+
+    default void forEachDouble(DoubleConsumer action)
+    {
+        PrimitiveIterator.OfDouble it = iterator();
+        while(it.hasNext())
+        {
+            action.accept(it.nextDouble());
+        }
+    }
+}
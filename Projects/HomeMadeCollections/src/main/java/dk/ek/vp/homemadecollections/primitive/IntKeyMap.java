@@ -0,0 +1,37 @@
+package dk.ek.vp.homemadecollections.primitive;
+
+public interface IntKeyMap<V>
+{
+    int size();
+    V get(int key);
+    V put(int key, V value);
+    V remove(int key);
+    boolean containsKey(int key);
+    void clear();
+    void forEach(IntKeyConsumer<? super V> action);
+    Cursor<V> cursor();
+
+    default boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    default V getOrDefault(int key, V defaultValue)
+    {
+        V value = get(key);
+        return (value != null || containsKey(key)) ? value : defaultValue;
+    }
+
+    @FunctionalInterface
+    interface IntKeyConsumer<V>
+    {
+        void accept(int key, V value);
+    }
+
+    interface Cursor<V>
+    {
+        boolean advance();
+        int key();
+        V value();
+    }
+}
@@ -0,0 +1,26 @@
+package dk.ek.vp.homemadecollections.primitive;
+
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+public interface IntList extends Iterable<Integer>
+{
+    int size();
+    void addLast(int value);
+    void addFirst(int value);
+    int removeLast();
+    int removeFirst();
+    int get(int index);
+
+    @Override
+    PrimitiveIterator.OfInt iterator();
+
+    default void forEachInt(IntConsumer action)
+    {
+        PrimitiveIterator.OfInt it = iterator();
+        while(it.hasNext())
+        {
+            action.accept(it.nextInt());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package dk.ek.vp.homemadecollections.primitive;
+
+public interface LongKeyMap<V>
+{
+    int size();
+    V get(long key);
+    V put(long key, V value);
+    V remove(long key);
+    boolean containsKey(long key);
+    void clear();
+    void forEach(LongKeyConsumer<? super V> action);
+    Cursor<V> cursor();
+
+    default boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    default V getOrDefault(long key, V defaultValue)
+    {
+        V value = get(key);
+        return (value != null || containsKey(key)) ? value : defaultValue;
+    }
+
+    @FunctionalInterface
+    interface LongKeyConsumer<V>
+    {
+        void accept(long key, V value);
+    }
+
+    interface Cursor<V>
+    {
+        boolean advance();
+        long key();
+        V value();
+    }
+}
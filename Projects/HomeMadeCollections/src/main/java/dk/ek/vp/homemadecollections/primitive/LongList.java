@@ -0,0 +1,26 @@
+package dk.ek.vp.homemadecollections.primitive;
+
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+public interface LongList extends Iterable<Long>
+{
+    int size();
+    void addLast(long value);
+    void addFirst(long value);
+    long removeLast();
+    long removeFirst();
+    long get(int index);
+
+    @Override
+    PrimitiveIterator.OfLong iterator();
+
+    default void forEachLong(LongConsumer action)
+    {
+        PrimitiveIterator.OfLong it = iterator();
+        while(it.hasNext())
+        {
+            action.accept(it.nextLong());
+        }
+    }
+}
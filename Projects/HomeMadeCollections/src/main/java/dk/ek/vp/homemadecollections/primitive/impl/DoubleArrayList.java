@@ -0,0 +1,136 @@
+package dk.ek.vp.homemadecollections.primitive.impl;
+
+import dk.ek.vp.homemadecollections.primitive.DoubleList;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+
+public class DoubleArrayList implements DoubleList
+{
+    private int version;
+    private double[] array;
+    private int size;
+
+    public DoubleArrayList()
+    {
+        array = new double[8];
+        size = 0;
+        version = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(double value)
+    {
+        ++version;
+        ensureCapacity();
+        array[size++] = value;
+    }
+
+    @Override
+    public void addFirst(double value)
+    {
+        ++version;
+        ensureCapacity();
+        System.arraycopy(array, 0, array, 1, size);
+        array[0] = value;
+        ++size;
+    }
+
+    @Override
+    public double removeLast()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        return array[--size];
+    }
+
+    @Override
+    public double removeFirst()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        double value = array[0];
+        --size;
+        System.arraycopy(array, 1, array, 0, size);
+        return value;
+    }
+
+    @Override
+    public double get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return array[index];
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble iterator()
+    {
+        return new DoubleArrayIterator();
+    }
+
+    @Override
+    public void forEachDouble(DoubleConsumer action)
+    {
+        int curVersion = version;
+        for(int i = 0; i < size; ++i)
+        {
+            action.accept(array[i]);
+        }
+        if(curVersion != version)
+        {
+            throw new ConcurrentModificationException("List has changed!");
+        }
+    }
+
+    private void ensureCapacity()
+    {
+        if(size == array.length)
+        {
+            doubleArray();
+        }
+    }
+
+    private void doubleArray()
+    {
+        double[] newArray = new double[array.length*2];
+        System.arraycopy(array, 0, newArray, 0, size);
+        array = newArray;
+    }
+
+    private class DoubleArrayIterator implements PrimitiveIterator.OfDouble
+    {
+        private final int curVersion;
+        private int curIndex;
+
+        public DoubleArrayIterator()
+        {
+            curVersion = version;
+            curIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return curIndex < size;
+        }
+
+        @Override
+        public double nextDouble()
+        {
+            if(!hasNext()) throw new NoSuchElementException();
+            return array[curIndex++];
+        }
+    }
+}
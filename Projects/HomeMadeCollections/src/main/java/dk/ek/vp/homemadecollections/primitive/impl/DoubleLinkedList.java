@@ -0,0 +1,178 @@
+package dk.ek.vp.homemadecollections.primitive.impl;
+
+import dk.ek.vp.homemadecollections.primitive.DoubleList;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.DoubleConsumer;
+
+public class DoubleLinkedList implements DoubleList
+{
+    private int curVersion;
+    private DoubleListNode first;
+    private DoubleListNode last;
+    private int size;
+
+    public DoubleLinkedList()
+    {
+        first = null;
+        last = null;
+        size = 0;
+        curVersion = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(double value)
+    {
+        DoubleListNode newNode = new DoubleListNode(value);
+        if(last == null)
+        {
+            first = newNode;
+            last = newNode;
+        }
+        else
+        {
+            last.setNext(newNode);
+            newNode.setPrev(last);
+            last = newNode;
+        }
+        ++size;
+        ++curVersion;
+    }
+
+    @Override
+    public void addFirst(double value)
+    {
+        DoubleListNode newNode = new DoubleListNode(value);
+        if(first == null)
+        {
+            first = newNode;
+            last = newNode;
+        }
+        else
+        {
+            first.setPrev(newNode);
+            newNode.setNext(first);
+            first = newNode;
+        }
+        ++size;
+        ++curVersion;
+    }
+
+    @Override
+    public double removeLast()
+    {
+        if(last == null)
+        {
+            throw new RuntimeException("List is empty");
+        }
+        DoubleListNode temp = last;
+        if(last.getPrev() == null)
+        {
+            first = null;
+            last = null;
+        }
+        else
+        {
+            last = last.getPrev();
+            last.setNext(null);
+        }
+        ++curVersion;
+        --size;
+        return temp.getValue();
+    }
+
+    @Override
+    public double removeFirst()
+    {
+        if(first == null)
+        {
+            throw new RuntimeException("List is empty");
+        }
+        DoubleListNode temp = first;
+        if(first.getNext() == null)
+        {
+            first = null;
+            last = null;
+        }
+        else
+        {
+            first = first.getNext();
+            first.setPrev(null);
+        }
+        ++curVersion;
+        --size;
+        return temp.getValue();
+    }
+
+    @Override
+    public double get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        DoubleListNode cur;
+        if(index < size / 2)
+        {
+            cur = first;
+            while(index > 0)
+            {
+                cur = cur.getNext();
+                --index;
+            }
+        }
+        else
+        {
+            cur = last;
+            for(int i = size - 1; i > index; --i)
+            {
+                cur = cur.getPrev();
+            }
+        }
+        return cur.getValue();
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble iterator()
+    {
+        return new DoubleListIterator();
+    }
+
+    @Override
+    public void forEachDouble(DoubleConsumer action)
+    {
+        for(DoubleListNode cur = first; cur != null; cur = cur.getNext())
+        {
+            action.accept(cur.getValue());
+        }
+    }
+
+    private class DoubleListIterator implements PrimitiveIterator.OfDouble
+    {
+        DoubleListNode next;
+
+        public DoubleListIterator()
+        {
+            this.next = first;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @Override
+        public double nextDouble()
+        {
+            if(next == null) throw new NoSuchElementException();
+            double res = next.getValue();
+            next = next.getNext();
+            return res;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dk.ek.vp.homemadecollections.primitive.impl;
+
+public class DoubleListNode
+{
+    private final double value;
+    private DoubleListNode next;
+    private DoubleListNode prev;
+
+    public DoubleListNode(double value)
+    {
+        this.value = value;
+    }
+
+    public double getValue()
+    {
+        return value;
+    }
+
+    public DoubleListNode getNext()
+    {
+        return next;
+    }
+
+    public DoubleListNode getPrev()
+    {
+        return prev;
+    }
+
+    public void setNext(DoubleListNode next)
+    {
+        this.next = next;
+    }
+
+    public void setPrev(DoubleListNode prev)
+    {
+        this.prev = prev;
+    }
+}
@@ -0,0 +1,136 @@
+package dk.ek.vp.homemadecollections.primitive.impl;
+
+import dk.ek.vp.homemadecollections.primitive.IntList;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+public class IntArrayList implements IntList
+{
+    private int version;
+    private int[] array;
+    private int size;
+
+    public IntArrayList()
+    {
+        array = new int[8];
+        size = 0;
+        version = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(int value)
+    {
+        ++version;
+        ensureCapacity();
+        array[size++] = value;
+    }
+
+    @Override
+    public void addFirst(int value)
+    {
+        ++version;
+        ensureCapacity();
+        System.arraycopy(array, 0, array, 1, size);
+        array[0] = value;
+        ++size;
+    }
+
+    @Override
+    public int removeLast()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        return array[--size];
+    }
+
+    @Override
+    public int removeFirst()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        int value = array[0];
+        --size;
+        System.arraycopy(array, 1, array, 0, size);
+        return value;
+    }
+
+    @Override
+    public int get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return array[index];
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator()
+    {
+        return new IntArrayIterator();
+    }
+
+    @Override
+    public void forEachInt(IntConsumer action)
+    {
+        int curVersion = version;
+        for(int i = 0; i < size; ++i)
+        {
+            action.accept(array[i]);
+        }
+        if(curVersion != version)
+        {
+            throw new ConcurrentModificationException("List has changed!");
+        }
+    }
+
+    private void ensureCapacity()
+    {
+        if(size == array.length)
+        {
+            doubleArray();
+        }
+    }
+
+    private void doubleArray()
+    {
+        int[] newArray = new int[array.length*2];
+        System.arraycopy(array, 0, newArray, 0, size);
+        array = newArray;
+    }
+
+    private class IntArrayIterator implements PrimitiveIterator.OfInt
+    {
+        private final int curVersion;
+        private int curIndex;
+
+        public IntArrayIterator()
+        {
+            curVersion = version;
+            curIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return curIndex < size;
+        }
+
+        @Override
+        public int nextInt()
+        {
+            if(!hasNext()) throw new NoSuchElementException();
+            return array[curIndex++];
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package dk.ek.vp.homemadecollections.primitive.impl;
+
+import dk.ek.vp.homemadecollections.primitive.IntList;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+public class IntLinkedList implements IntList
+{
+    private int curVersion;
+    private IntListNode first;
+    private IntListNode last;
+    private int size;
+
+    public IntLinkedList()
+    {
+        first = null;
+        last = null;
+        size = 0;
+        curVersion = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(int value)
+    {
+        IntListNode newNode = new IntListNode(value);
+        if(last == null)
+        {
+            first = newNode;
+            last = newNode;
+        }
+        else
+        {
+            last.setNext(newNode);
+            newNode.setPrev(last);
+            last = newNode;
+        }
+        ++size;
+        ++curVersion;
+    }
+
+    @Override
+    public void addFirst(int value)
+    {
+        IntListNode newNode = new IntListNode(value);
+        if(first == null)
+        {
+            first = newNode;
+            last = newNode;
+        }
+        else
+        {
+            first.setPrev(newNode);
+            newNode.setNext(first);
+            first = newNode;
+        }
+        ++size;
+        ++curVersion;
+    }
+
+    @Override
+    public int removeLast()
+    {
+        if(last == null)
+        {
+            throw new RuntimeException("List is empty");
+        }
+        IntListNode temp = last;
+        if(last.getPrev() == null)
+        {
+            first = null;
+            last = null;
+        }
+        else
+        {
+            last = last.getPrev();
+            last.setNext(null);
+        }
+        ++curVersion;
+        --size;
+        return temp.getValue();
+    }
+
+    @Override
+    public int removeFirst()
+    {
+        if(first == null)
+        {
+            throw new RuntimeException("List is empty");
+        }
+        IntListNode temp = first;
+        if(first.getNext() == null)
+        {
+            first = null;
+            last = null;
+        }
+        else
+        {
+            first = first.getNext();
+            first.setPrev(null);
+        }
+        ++curVersion;
+        --size;
+        return temp.getValue();
+    }
+
+    @Override
+    public int get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        IntListNode cur;
+        if(index < size / 2)
+        {
+            cur = first;
+            while(index > 0)
+            {
+                cur = cur.getNext();
+                --index;
+            }
+        }
+        else
+        {
+            cur = last;
+            for(int i = size - 1; i > index; --i)
+            {
+                cur = cur.getPrev();
+            }
+        }
+        return cur.getValue();
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator()
+    {
+        return new IntListIterator();
+    }
+
+    @Override
+    public void forEachInt(IntConsumer action)
+    {
+        for(IntListNode cur = first; cur != null; cur = cur.getNext())
+        {
+            action.accept(cur.getValue());
+        }
+    }
+
+    private class IntListIterator implements PrimitiveIterator.OfInt
+    {
+        IntListNode next;
+
+        public IntListIterator()
+        {
+            this.next = first;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @Override
+        public int nextInt()
+        {
+            if(next == null) throw new NoSuchElementException();
+            int res = next.getValue();
+            next = next.getNext();
+            return res;
+        }
+    }
+}
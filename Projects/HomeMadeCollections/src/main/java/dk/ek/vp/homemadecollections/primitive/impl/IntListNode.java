@@ -0,0 +1,38 @@
+package dk.ek.vp.homemadecollections.primitive.impl;
+
+public class IntListNode
+{
+    private final int value;
+    private IntListNode next;
+    private IntListNode prev;
+
+    public IntListNode(int value)
+    {
+        this.value = value;
+    }
+
+    public int getValue()
+    {
+        return value;
+    }
+
+    public IntListNode getNext()
+    {
+        return next;
+    }
+
+    public IntListNode getPrev()
+    {
+        return prev;
+    }
+
+    public void setNext(IntListNode next)
+    {
+        this.next = next;
+    }
+
+    public void setPrev(IntListNode prev)
+    {
+        this.prev = prev;
+    }
+}
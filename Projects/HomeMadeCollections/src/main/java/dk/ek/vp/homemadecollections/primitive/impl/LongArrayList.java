@@ -0,0 +1,136 @@
+package dk.ek.vp.homemadecollections.primitive.impl;
+
+import dk.ek.vp.homemadecollections.primitive.LongList;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+public class LongArrayList implements LongList
+{
+    private int version;
+    private long[] array;
+    private int size;
+
+    public LongArrayList()
+    {
+        array = new long[8];
+        size = 0;
+        version = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(long value)
+    {
+        ++version;
+        ensureCapacity();
+        array[size++] = value;
+    }
+
+    @Override
+    public void addFirst(long value)
+    {
+        ++version;
+        ensureCapacity();
+        System.arraycopy(array, 0, array, 1, size);
+        array[0] = value;
+        ++size;
+    }
+
+    @Override
+    public long removeLast()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        return array[--size];
+    }
+
+    @Override
+    public long removeFirst()
+    {
+        if(size == 0) throw new RuntimeException("List is empty");
+        ++version;
+        long value = array[0];
+        --size;
+        System.arraycopy(array, 1, array, 0, size);
+        return value;
+    }
+
+    @Override
+    public long get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return array[index];
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator()
+    {
+        return new LongArrayIterator();
+    }
+
+    @Override
+    public void forEachLong(LongConsumer action)
+    {
+        int curVersion = version;
+        for(int i = 0; i < size; ++i)
+        {
+            action.accept(array[i]);
+        }
+        if(curVersion != version)
+        {
+            throw new ConcurrentModificationException("List has changed!");
+        }
+    }
+
+    private void ensureCapacity()
+    {
+        if(size == array.length)
+        {
+            doubleArray();
+        }
+    }
+
+    private void doubleArray()
+    {
+        long[] newArray = new long[array.length*2];
+        System.arraycopy(array, 0, newArray, 0, size);
+        array = newArray;
+    }
+
+    private class LongArrayIterator implements PrimitiveIterator.OfLong
+    {
+        private final int curVersion;
+        private int curIndex;
+
+        public LongArrayIterator()
+        {
+            curVersion = version;
+            curIndex = 0;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if(curVersion != version)
+            {
+                throw new ConcurrentModificationException("List has changed!");
+            }
+            return curIndex < size;
+        }
+
+        @Override
+        public long nextLong()
+        {
+            if(!hasNext()) throw new NoSuchElementException();
+            return array[curIndex++];
+        }
+    }
+}
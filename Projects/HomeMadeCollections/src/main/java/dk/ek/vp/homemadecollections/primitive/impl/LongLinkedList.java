@@ -0,0 +1,178 @@
+package dk.ek.vp.homemadecollections.primitive.impl;
+
+import dk.ek.vp.homemadecollections.primitive.LongList;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+public class LongLinkedList implements LongList
+{
+    private int curVersion;
+    private LongListNode first;
+    private LongListNode last;
+    private int size;
+
+    public LongLinkedList()
+    {
+        first = null;
+        last = null;
+        size = 0;
+        curVersion = 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void addLast(long value)
+    {
+        LongListNode newNode = new LongListNode(value);
+        if(last == null)
+        {
+            first = newNode;
+            last = newNode;
+        }
+        else
+        {
+            last.setNext(newNode);
+            newNode.setPrev(last);
+            last = newNode;
+        }
+        ++size;
+        ++curVersion;
+    }
+
+    @Override
+    public void addFirst(long value)
+    {
+        LongListNode newNode = new LongListNode(value);
+        if(first == null)
+        {
+            first = newNode;
+            last = newNode;
+        }
+        else
+        {
+            first.setPrev(newNode);
+            newNode.setNext(first);
+            first = newNode;
+        }
+        ++size;
+        ++curVersion;
+    }
+
+    @Override
+    public long removeLast()
+    {
+        if(last == null)
+        {
+            throw new RuntimeException("List is empty");
+        }
+        LongListNode temp = last;
+        if(last.getPrev() == null)
+        {
+            first = null;
+            last = null;
+        }
+        else
+        {
+            last = last.getPrev();
+            last.setNext(null);
+        }
+        ++curVersion;
+        --size;
+        return temp.getValue();
+    }
+
+    @Override
+    public long removeFirst()
+    {
+        if(first == null)
+        {
+            throw new RuntimeException("List is empty");
+        }
+        LongListNode temp = first;
+        if(first.getNext() == null)
+        {
+            first = null;
+            last = null;
+        }
+        else
+        {
+            first = first.getNext();
+            first.setPrev(null);
+        }
+        ++curVersion;
+        --size;
+        return temp.getValue();
+    }
+
+    @Override
+    public long get(int index)
+    {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        LongListNode cur;
+        if(index < size / 2)
+        {
+            cur = first;
+            while(index > 0)
+            {
+                cur = cur.getNext();
+                --index;
+            }
+        }
+        else
+        {
+            cur = last;
+            for(int i = size - 1; i > index; --i)
+            {
+                cur = cur.getPrev();
+            }
+        }
+        return cur.getValue();
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator()
+    {
+        return new LongListIterator();
+    }
+
+    @Override
+    public void forEachLong(LongConsumer action)
+    {
+        for(LongListNode cur = first; cur != null; cur = cur.getNext())
+        {
+            action.accept(cur.getValue());
+        }
+    }
+
+    private class LongListIterator implements PrimitiveIterator.OfLong
+    {
+        LongListNode next;
+
+        public LongListIterator()
+        {
+            this.next = first;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return next != null;
+        }
+
+        @Override
+        public long nextLong()
+        {
+            if(next == null) throw new NoSuchElementException();
+            long res = next.getValue();
+            next = next.getNext();
+            return res;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package dk.ek.vp.homemadecollections.primitive.impl;
+
+public class LongListNode
+{
+    private final long value;
+    private LongListNode next;
+    private LongListNode prev;
+
+    public LongListNode(long value)
+    {
+        this.value = value;
+    }
+
+    public long getValue()
+    {
+        return value;
+    }
+
+    public LongListNode getNext()
+    {
+        return next;
+    }
+
+    public LongListNode getPrev()
+    {
+        return prev;
+    }
+
+    public void setNext(LongListNode next)
+    {
+        this.next = next;
+    }
+
+    public void setPrev(LongListNode prev)
+    {
+        this.prev = prev;
+    }
+}
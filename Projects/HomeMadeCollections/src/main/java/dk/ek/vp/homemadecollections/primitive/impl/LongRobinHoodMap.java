@@ -0,0 +1,278 @@
+package dk.ek.vp.homemadecollections.primitive.impl;
+
+import dk.ek.vp.homemadecollections.primitive.LongKeyMap;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * Robin Hood hash map from long keys to values, with the keys in a long[] so they are never boxed.
+ * A parallel boolean[] marks the used slots, and removal shifts the following entries back.
+ */
+public class LongRobinHoodMap<V> implements LongKeyMap<V>
+{
+    private final float loadFactor;
+    private int version;
+    private long[] keys;
+    private V[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    public LongRobinHoodMap()
+    {
+        this(16, 0.75f);
+    }
+
+    public LongRobinHoodMap(int initialCapacity)
+    {
+        this(initialCapacity, 0.75f);
+    }
+
+    public LongRobinHoodMap(int initialCapacity, float loadFactor)
+    {
+        if(initialCapacity < 0) throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        if(!(loadFactor > 0 && loadFactor < 1)) throw new IllegalArgumentException("Load factor must be between 0 and 1: " + loadFactor);
+        this.loadFactor = loadFactor;
+        version = 0;
+        size = 0;
+        allocate(tableSizeFor(initialCapacity, loadFactor));
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public V get(long key)
+    {
+        int slot = find(key);
+        return slot < 0 ? null : values[slot];
+    }
+
+    @Override
+    public boolean containsKey(long key)
+    {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public V put(long key, V value)
+    {
+        int slot = find(key);
+        if(slot >= 0)
+        {
+            V old = values[slot];
+            values[slot] = value;
+            return old;
+        }
+        ++version;
+        if(size >= threshold)
+        {
+            grow();
+        }
+        insert(key, value);
+        ++size;
+        return null;
+    }
+
+    @Override
+    public V remove(long key)
+    {
+        int slot = find(key);
+        if(slot < 0)
+        {
+            return null;
+        }
+        V old = values[slot];
+        ++version;
+        --size;
+        int next = (slot + 1) & mask;
+        while(used[next] && probeDistance(keys[next], next) > 0)
+        {
+            keys[slot] = keys[next];
+            values[slot] = values[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+        used[slot] = false;
+        values[slot] = null;
+        return old;
+    }
+
+    @Override
+    public void clear()
+    {
+        ++version;
+        Arrays.fill(used, false);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @Override
+    public void forEach(LongKeyConsumer<? super V> action)
+    {
+        int expectedVersion = version;
+        for(int slot = 0; slot < used.length; ++slot)
+        {
+            if(used[slot])
+            {
+                action.accept(keys[slot], values[slot]);
+            }
+        }
+        if(expectedVersion != version)
+        {
+            throw new ConcurrentModificationException("Map has changed!");
+        }
+    }
+
+    @Override
+    public Cursor<V> cursor()
+    {
+        return new RobinHoodCursor();
+    }
+
+    public int capacity()
+    {
+        return used.length;
+    }
+
+    private int find(long key)
+    {
+        int slot = hash(key) & mask;
+        int dist = 0;
+        while(used[slot] && probeDistance(keys[slot], slot) >= dist)
+        {
+            if(keys[slot] == key)
+            {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+            ++dist;
+        }
+        return -1;
+    }
+
+    // Places an entry whose key is known not to be in the table, displacing entries that are closer to home.
+    private void insert(long key, V value)
+    {
+        int slot = hash(key) & mask;
+        int dist = 0;
+        while(used[slot])
+        {
+            int existingDist = probeDistance(keys[slot], slot);
+            if(existingDist < dist)
+            {
+                long k = keys[slot];
+                V v = values[slot];
+                keys[slot] = key;
+                values[slot] = value;
+                key = k;
+                value = v;
+                dist = existingDist;
+            }
+            slot = (slot + 1) & mask;
+            ++dist;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    private int probeDistance(long key, int slot)
+    {
+        return (slot - (hash(key) & mask)) & mask;
+    }
+
+    private void grow()
+    {
+        long[] oldKeys = keys;
+        V[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(oldUsed.length * 2);
+        for(int slot = 0; slot < oldUsed.length; ++slot)
+        {
+            if(oldUsed[slot])
+            {
+                insert(oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity)
+    {
+        keys = new long[capacity];
+        values = (V[]) new Object[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    private static int tableSizeFor(int expectedSize, float loadFactor)
+    {
+        int capacity = 2;
+        while(capacity < (1 << 30) && capacity * loadFactor < expectedSize)
+        {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // Scatters the key over the table, since the slot only uses the low bits.
+    private static int hash(long key)
+    {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private class RobinHoodCursor implements Cursor<V>
+    {
+        private final int expectedVersion;
+        private int slot;
+
+        public RobinHoodCursor()
+        {
+            expectedVersion = version;
+            slot = -1;
+        }
+
+        @Override
+        public boolean advance()
+        {
+            if(expectedVersion != version)
+            {
+                throw new ConcurrentModificationException("Map has changed!");
+            }
+            do
+            {
+                ++slot;
+            }
+            while(slot < used.length && !used[slot]);
+            return slot < used.length;
+        }
+
+        @Override
+        public long key()
+        {
+            checkPosition();
+            return keys[slot];
+        }
+
+        @Override
+        public V value()
+        {
+            checkPosition();
+            return values[slot];
+        }
+
+        private void checkPosition()
+        {
+            if(slot < 0 || slot >= used.length) throw new NoSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package dk.ek.vp.homemadecollections.first;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import dk.ek.vp.homemadecollections.first.impl.StringArenaList;
+import dk.ek.vp.homemadecollections.first.impl.StringArrayList;
+import dk.ek.vp.homemadecollections.first.impl.StringCircularArrayList;
+import dk.ek.vp.homemadecollections.first.impl.StringLinkedList;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Named.named;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class StringListAddAllTest
+{
+    static Stream<Arguments> lists()
+    {
+        return Stream.of(
+            arguments(named("array",    (Supplier<StringList>) StringArrayList::new)),
+            arguments(named("circular", (Supplier<StringList>) StringCircularArrayList::new)),
+            arguments(named("linked",   (Supplier<StringList>) StringLinkedList::new)),
+            arguments(named("arena",    (Supplier<StringList>) StringArenaList::new))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("lists")
+    void addAllOfItselfAppendsACopy(Supplier<StringList> factory)
+    {
+        StringList list = factory.get();
+        list.addAll(new String[] {"a", "b", "c"});
+
+        list.addAll(list);
+
+        assertArrayEquals(new String[] {"a", "b", "c", "a", "b", "c"}, list.toArray());
+    }
+}
@@ -0,0 +1,65 @@
+package dk.ek.vp.homemadecollections.generic;
+
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import dk.ek.vp.homemadecollections.generic.impl.ElementCodecs;
+import dk.ek.vp.homemadecollections.generic.impl.GenericArrayList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericCircularArrayList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericConcurrentArrayQueue;
+import dk.ek.vp.homemadecollections.generic.impl.GenericConcurrentLinkedQueue;
+import dk.ek.vp.homemadecollections.generic.impl.GenericCursorLinkedList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericLinkedList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericTreeList;
+import dk.ek.vp.homemadecollections.generic.impl.GenericUnrolledLinkedList;
+import dk.ek.vp.homemadecollections.generic.impl.OffHeapGenericList;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Named.named;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class GenericListAddAllTest
+{
+    static Stream<Arguments> lists()
+    {
+        return Stream.of(
+            arguments(named("array",          (Supplier<GenericList<Integer>>) GenericArrayList::new)),
+            arguments(named("array snapshot", (Supplier<GenericList<Integer>>) () -> new GenericArrayList<>(true))),
+            arguments(named("circular",       (Supplier<GenericList<Integer>>) GenericCircularArrayList::new)),
+            arguments(named("linked",         (Supplier<GenericList<Integer>>) GenericLinkedList::new)),
+            arguments(named("linked indexed", (Supplier<GenericList<Integer>>) () -> new GenericLinkedList<>(true))),
+            arguments(named("tree",           (Supplier<GenericList<Integer>>) GenericTreeList::new)),
+            arguments(named("unrolled",       (Supplier<GenericList<Integer>>) GenericUnrolledLinkedList::new)),
+            arguments(named("cursor",         (Supplier<GenericList<Integer>>) GenericCursorLinkedList::new)),
+            arguments(named("linked queue",   (Supplier<GenericList<Integer>>) GenericConcurrentLinkedQueue::new)),
+            arguments(named("array queue",    (Supplier<GenericList<Integer>>) () -> new GenericConcurrentArrayQueue<>(16))),
+            arguments(named("off-heap",       (Supplier<GenericList<Integer>>) () -> new OffHeapGenericList<>(ElementCodecs.INT)))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("lists")
+    void addAllOfItselfAppendsACopy(Supplier<GenericList<Integer>> factory) throws Exception
+    {
+        GenericList<Integer> list = factory.get();
+        try
+        {
+            list.addAll(new Integer[] {1, 2, 3});
+
+            list.addAll(list);
+
+            assertArrayEquals(new Object[] {1, 2, 3, 1, 2, 3}, list.toArray());
+        }
+        finally
+        {
+            if(list instanceof AutoCloseable closeable)
+            {
+                closeable.close();
+            }
+        }
+    }
+}
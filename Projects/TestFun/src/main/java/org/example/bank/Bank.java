@@ -12,4 +12,14 @@ public interface Bank
      * @throws NoSuchElementException if no account exists with the given number
      */
     BankAccount getAccount(String accountNumber);
+
+    /**
+     * Moves amount from one account to another as a single operation, so either both balances change or neither does.
+     * A transfer from an account to itself changes nothing, but is checked like any other transfer.
+     *
+     * @throws IllegalArgumentException if amount is not positive
+     * @throws NoSuchElementException if either account does not exist
+     * @throws IllegalStateException if the from account holds less than amount
+     */
+    void transfer(String fromAccount, String toAccount, long amount);
 }
@@ -4,8 +4,12 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -14,37 +18,256 @@ import java.util.Properties;
 import org.example.bank.Bank;
 import org.example.bankaccount.BankAccount;
 
-public class FileBank implements Bank
+public class FileBank implements Bank, AutoCloseable
 {
     private static final String ACCOUNT_PREFIX = "account.";
     private static final String NEXT_NUMBER_KEY = "nextNumber";
+    private static final int DEFAULT_COMPACT_EVERY = 10_000;
+    private static final Duration DEFAULT_COMMIT_WINDOW = Duration.ofMillis(2);
+    private static final int DEFAULT_MAX_BATCH_RECORDS = 256;
 
     private final Path file;
+    private final FileBankMode mode;
+    private final int compactEvery;
+    private final WriteAheadLog log;
+    private final GroupCommitLog groupCommit;
     private final Map<String, FileBankAccount> accounts = new HashMap<>();
     private long nextNumber = 1L;
+    private long logRecords;
+    private boolean closed;
 
     public FileBank()
     {
-        this(createTempPath());
+        this(FileBankMode.SNAPSHOT);
+    }
+
+    public FileBank(FileBankMode mode)
+    {
+        this(createTempPath(), mode, DEFAULT_COMPACT_EVERY);
     }
 
     public FileBank(Path file)
     {
+        this(file, FileBankMode.SNAPSHOT, DEFAULT_COMPACT_EVERY);
+    }
+
+    public FileBank(Path file, FileBankMode mode)
+    {
+        this(file, mode, DEFAULT_COMPACT_EVERY);
+    }
+
+    /**
+     * In WRITE_AHEAD_LOG mode the log is kept in the file name plus ".wal",
+     * and it is folded into the properties file after every compactEvery records.
+     */
+    public FileBank(Path file, FileBankMode mode, int compactEvery)
+    {
+        this(file, mode, compactEvery, DEFAULT_COMMIT_WINDOW, DEFAULT_MAX_BATCH_RECORDS);
+    }
+
+    /**
+     * In DURABLE_WRITE_AHEAD_LOG mode, the first change waiting for the disk collects the changes that
+     * come in after it for up to commitWindow, or until maxBatchRecords are waiting, and then writes and
+     * forces them all at once. The window is only waited for while other changes are waiting as well, so a
+     * single thread pays one force per change. A zero window still batches everything that arrives during a force.
+     */
+    public FileBank(Path file, FileBankMode mode, int compactEvery, Duration commitWindow, int maxBatchRecords)
+    {
+        if (compactEvery <= 0)
+        {
+            throw new IllegalArgumentException("Compaction interval must be positive.");
+        }
+        if (commitWindow.isNegative())
+        {
+            throw new IllegalArgumentException("Commit window must not be negative.");
+        }
+        if (maxBatchRecords <= 0)
+        {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
         this.file = file;
+        this.mode = mode;
+        this.compactEvery = compactEvery;
         load();
+        if (mode == FileBankMode.SNAPSHOT)
+        {
+            log = null;
+            groupCommit = null;
+            foldLeftoverLog();
+        }
+        else
+        {
+            log = new WriteAheadLog(logPath(file));
+            log.replay(this::replay);
+            logRecords = log.records();
+            if (mode == FileBankMode.DURABLE_WRITE_AHEAD_LOG)
+            {
+                forceDirectory(logPath(file));
+                groupCommit = new GroupCommitLog(log, commitWindow.toNanos(), maxBatchRecords);
+            }
+            else
+            {
+                groupCommit = null;
+            }
+        }
     }
 
     @Override
     public String openAccount()
     {
-        String number = String.valueOf(nextNumber++);
-        accounts.put(number, new FileBankAccount(this));
-        flush();
+        String number;
+        long sequence;
+        synchronized (this)
+        {
+            checkOpen();
+            long n = nextNumber++;
+            number = String.valueOf(n);
+            accounts.put(number, new FileBankAccount(this, number));
+            sequence = record(WriteAheadLog.OPEN, n, 0L);
+        }
+        awaitDurable(sequence);
         return number;
     }
 
     @Override
-    public BankAccount getAccount(String accountNumber)
+    public synchronized BankAccount getAccount(String accountNumber)
+    {
+        return account(accountNumber);
+    }
+
+    /**
+     * Both new balances go into one log record, or into one snapshot in SNAPSHOT mode.
+     */
+    @Override
+    public void transfer(String fromAccount, String toAccount, long amount)
+    {
+        if (amount <= 0)
+        {
+            throw new IllegalArgumentException("Transfer amount must be positive.");
+        }
+        long sequence;
+        synchronized (this)
+        {
+            checkOpen();
+            FileBankAccount from = account(fromAccount);
+            FileBankAccount to = account(toAccount);
+            if (amount > from.getBalance())
+            {
+                throw new IllegalStateException("Insufficient funds.");
+            }
+            if (from == to)
+            {
+                return;
+            }
+            from.restoreBalance(from.getBalance() - amount);
+            to.restoreBalance(to.getBalance() + amount);
+            sequence = recordTransfer(from, to);
+        }
+        awaitDurable(sequence);
+    }
+
+    public FileBankMode getMode()
+    {
+        return mode;
+    }
+
+    /**
+     * In the log modes, writes a snapshot and empties the log before closing it. Closing again does nothing,
+     * and changes made after closing throw IllegalStateException.
+     */
+    @Override
+    public synchronized void close()
+    {
+        if (closed)
+        {
+            return;
+        }
+        closed = true;
+        if (log != null)
+        {
+            compact();
+            log.close();
+        }
+    }
+
+    // Must be called while holding the bank's lock, before changing anything.
+    void checkOpen()
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Bank is closed.");
+        }
+    }
+
+    /**
+     * Records the new balance of the account. Must be called while holding the bank's lock, and returns
+     * the number to pass to {@link #awaitDurable} once the lock has been let go.
+     */
+    long balanceChanged(FileBankAccount account)
+    {
+        return record(WriteAheadLog.BALANCE, Long.parseLong(account.getNumber()), account.getBalance());
+    }
+
+    // Waits outside the bank's lock, so other threads can add their changes to the same batch meanwhile.
+    void awaitDurable(long sequence)
+    {
+        if (groupCommit != null)
+        {
+            groupCommit.awaitDurable(sequence);
+        }
+    }
+
+    private long record(byte type, long number, long balance)
+    {
+        if (log == null)
+        {
+            flush();
+            return 0L;
+        }
+        long sequence = 0L;
+        if (groupCommit != null)
+        {
+            sequence = groupCommit.enqueue(type, number, balance);
+        }
+        else
+        {
+            log.append(type, number, balance);
+        }
+        recorded();
+        return sequence;
+    }
+
+    private long recordTransfer(FileBankAccount from, FileBankAccount to)
+    {
+        if (log == null)
+        {
+            flush();
+            return 0L;
+        }
+        long fromNumber = Long.parseLong(from.getNumber());
+        long toNumber = Long.parseLong(to.getNumber());
+        long sequence = 0L;
+        if (groupCommit != null)
+        {
+            sequence = groupCommit.enqueueTransfer(fromNumber, from.getBalance(), toNumber, to.getBalance());
+        }
+        else
+        {
+            log.appendTransfer(fromNumber, from.getBalance(), toNumber, to.getBalance());
+        }
+        recorded();
+        return sequence;
+    }
+
+    private void recorded()
+    {
+        if (++logRecords >= compactEvery)
+        {
+            compact();
+        }
+    }
+
+    private FileBankAccount account(String accountNumber)
     {
         FileBankAccount account = accounts.get(accountNumber);
         if (account == null)
@@ -54,7 +277,84 @@ public class FileBank implements Bank
         return account;
     }
 
-    void flush()
+    // Writes the snapshot next to the old one and moves it into place, so a crash leaves either the old or
+    // the new snapshot. The log is only emptied once the new snapshot is in place.
+    // In durable mode the queued records are forced first, and so are the new snapshot and the rename,
+    // since the log may only be emptied once the snapshot is sure to be on disk.
+    private void compact()
+    {
+        boolean durable = groupCommit != null;
+        if (durable)
+        {
+            groupCommit.sync();
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        writeSnapshot(tmp, durable);
+        try
+        {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        if (durable)
+        {
+            forceDirectory(file);
+        }
+        log.reset();
+        logRecords = 0;
+    }
+
+    // A log left by a log mode bank that was not closed holds changes the snapshot does not have. They are
+    // folded into the snapshot and the log is removed, since a later log mode bank would otherwise replay its
+    // old balances over the newer snapshot.
+    private void foldLeftoverLog()
+    {
+        Path logFile = logPath(file);
+        if (!Files.exists(logFile) || isEmpty(logFile))
+        {
+            return;
+        }
+        try (WriteAheadLog leftover = new WriteAheadLog(logFile))
+        {
+            leftover.replay(this::replay);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        writeSnapshot(tmp, true);
+        try
+        {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory(file);
+            Files.delete(logFile);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void replay(byte type, long number, long balance)
+    {
+        String key = String.valueOf(number);
+        FileBankAccount account = accounts.get(key);
+        if (account == null)
+        {
+            accounts.put(key, new FileBankAccount(this, key, balance));
+        }
+        else
+        {
+            account.restoreBalance(balance);
+        }
+        nextNumber = Math.max(nextNumber, number + 1);
+    }
+
+    private void flush()
+    {
+        writeSnapshot(file, false);
+    }
+
+    private void writeSnapshot(Path target, boolean force)
     {
         Properties props = new Properties();
         props.setProperty(NEXT_NUMBER_KEY, String.valueOf(nextNumber));
@@ -62,7 +362,7 @@ public class FileBank implements Bank
         {
             props.setProperty(ACCOUNT_PREFIX + e.getKey(), String.valueOf(e.getValue().getBalance()));
         }
-        try (BufferedWriter out = Files.newBufferedWriter(file))
+        try (BufferedWriter out = Files.newBufferedWriter(target))
         {
             props.store(out, "FileBank state");
         }
@@ -70,6 +370,17 @@ public class FileBank implements Bank
         {
             throw new UncheckedIOException(e);
         }
+        if (force)
+        {
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE))
+            {
+                channel.force(true);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
     }
 
     private void load()
@@ -94,7 +405,7 @@ public class FileBank implements Bank
             {
                 String number = key.substring(ACCOUNT_PREFIX.length());
                 long balance = Long.parseLong(props.getProperty(key));
-                accounts.put(number, new FileBankAccount(this, balance));
+                accounts.put(number, new FileBankAccount(this, number, balance));
             }
         }
     }
@@ -111,12 +422,33 @@ public class FileBank implements Bank
         }
     }
 
+    // Makes a newly created or renamed file in the directory durable. Not every platform can open a
+    // directory, and those that cannot do not need this, so failing to open it is ignored.
+    private static void forceDirectory(Path file)
+    {
+        Path dir = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ))
+        {
+            channel.force(true);
+        }
+        catch (IOException e)
+        {
+            // Nothing to do.
+        }
+    }
+
+    private static Path logPath(Path file)
+    {
+        return file.resolveSibling(file.getFileName() + ".wal");
+    }
+
     private static Path createTempPath()
     {
         try
         {
             Path path = Files.createTempFile("filebank-", ".properties");
             path.toFile().deleteOnExit();
+            logPath(path).toFile().deleteOnExit();
             return path;
         }
         catch (IOException e)
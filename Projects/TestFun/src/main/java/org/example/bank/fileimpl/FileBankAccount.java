@@ -5,16 +5,18 @@ import org.example.bankaccount.BankAccount;
 class FileBankAccount implements BankAccount
 {
     private final FileBank bank;
+    private final String number;
     private long balance;
 
-    FileBankAccount(FileBank bank)
+    FileBankAccount(FileBank bank, String number)
     {
-        this(bank, 0L);
+        this(bank, number, 0L);
     }
 
-    FileBankAccount(FileBank bank, long initialBalance)
+    FileBankAccount(FileBank bank, String number, long initialBalance)
     {
         this.bank = bank;
+        this.number = number;
         this.balance = initialBalance;
     }
 
@@ -25,8 +27,14 @@ class FileBankAccount implements BankAccount
         {
             throw new IllegalArgumentException("Deposit amount must be positive.");
         }
-        balance += amount;
-        bank.flush();
+        long sequence;
+        synchronized (bank)
+        {
+            bank.checkOpen();
+            balance += amount;
+            sequence = bank.balanceChanged(this);
+        }
+        bank.awaitDurable(sequence);
     }
 
     @Override
@@ -36,17 +44,38 @@ class FileBankAccount implements BankAccount
         {
             throw new IllegalArgumentException("Withdraw amount must be positive.");
         }
-        if (amount > balance)
+        long sequence;
+        synchronized (bank)
         {
-            throw new IllegalStateException("Insufficient funds.");
+            bank.checkOpen();
+            if (amount > balance)
+            {
+                throw new IllegalStateException("Insufficient funds.");
+            }
+            balance -= amount;
+            sequence = bank.balanceChanged(this);
         }
-        balance -= amount;
-        bank.flush();
+        bank.awaitDurable(sequence);
     }
 
     @Override
     public long getBalance()
     {
-        return balance;
+        synchronized (bank)
+        {
+            return balance;
+        }
+    }
+
+    String getNumber()
+    {
+        return number;
+    }
+
+    // Sets the balance without recording it: while replaying the log, where the change is already on disk,
+    // and during a transfer, which records both accounts itself.
+    void restoreBalance(long balance)
+    {
+        this.balance = balance;
     }
 }
@@ -0,0 +1,23 @@
+package org.example.bank.fileimpl;
+
+public enum FileBankMode
+{
+    /**
+     * Every change rewrites the whole properties file. A log left by one of the log modes is folded into
+     * the properties file on startup, and then removed.
+     */
+    SNAPSHOT,
+
+    /**
+     * Every change appends a small record to a write-ahead log next to the properties file.
+     * The properties file is rewritten only when the log is compacted, and the log is replayed on startup.
+     */
+    WRITE_AHEAD_LOG,
+
+    /**
+     * Like WRITE_AHEAD_LOG, but a change only returns once its record has been forced to disk.
+     * Changes made at about the same time are written and forced together (group commit),
+     * so threads share the cost of each force instead of paying for one each.
+     */
+    DURABLE_WRITE_AHEAD_LOG
+}
@@ -0,0 +1,223 @@
+package org.example.bank.fileimpl;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Makes write-ahead log records durable in batches. Records are queued in memory and numbered. A caller
+ * waiting for its record either becomes the leader, or waits for the leader to finish. When other callers are
+ * waiting too, the leader waits for up to the commit window, or until the batch is full. A lone caller does not
+ * wait, since nobody would join its batch. The leader then writes every queued record with one write and forces
+ * them to disk once, and that releases every caller whose record was in the batch.
+ */
+class GroupCommitLog
+{
+    private final WriteAheadLog log;
+    private final long windowNanos;
+    private final int maxBatchRecords;
+    private final CRC32 crc = new CRC32();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchFull = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    private ByteBuffer pending;
+    private ByteBuffer spare;
+    private int pendingRecords;
+    private long queued;
+    private long durable;
+    private int waiters;
+    private boolean leaderActive;
+    private UncheckedIOException failure;
+
+    GroupCommitLog(WriteAheadLog log, long windowNanos, int maxBatchRecords)
+    {
+        this.log = log;
+        this.windowNanos = windowNanos;
+        this.maxBatchRecords = maxBatchRecords;
+        pending = ByteBuffer.allocate(maxBatchRecords * WriteAheadLog.RECORD_SIZE);
+        spare = ByteBuffer.allocate(maxBatchRecords * WriteAheadLog.RECORD_SIZE);
+        queued = 0;
+        durable = 0;
+    }
+
+    /**
+     * Queues a record and returns its sequence number, to be passed to {@link #awaitDurable}.
+     * Records reach the log in the order they were queued.
+     */
+    long enqueue(byte type, long number, long balance)
+    {
+        lock.lock();
+        try
+        {
+            makeRoom(WriteAheadLog.RECORD_SIZE);
+            WriteAheadLog.encode(pending, crc, type, number, balance);
+            return recordQueued();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    long enqueueTransfer(long from, long fromBalance, long to, long toBalance)
+    {
+        lock.lock();
+        try
+        {
+            makeRoom(WriteAheadLog.TRANSFER_RECORD_SIZE);
+            WriteAheadLog.encodeTransfer(pending, crc, from, fromBalance, to, toBalance);
+            return recordQueued();
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    // Returns once the record with the given sequence number, and every record before it, is on disk.
+    void awaitDurable(long sequence)
+    {
+        lock.lock();
+        ++waiters;
+        try
+        {
+            while (durable < sequence)
+            {
+                if (failure != null)
+                {
+                    throw failure;
+                }
+                if (leaderActive)
+                {
+                    committed.awaitUninterruptibly();
+                }
+                else
+                {
+                    commit(true);
+                }
+            }
+        }
+        finally
+        {
+            --waiters;
+            lock.unlock();
+        }
+    }
+
+    // Makes every queued record durable without waiting for the window, e.g. before compaction.
+    void sync()
+    {
+        lock.lock();
+        try
+        {
+            while (durable < queued)
+            {
+                if (failure != null)
+                {
+                    throw failure;
+                }
+                if (leaderActive)
+                {
+                    committed.awaitUninterruptibly();
+                }
+                else
+                {
+                    commit(false);
+                }
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    // Called by the leader with the lock held. The lock is let go during the write and the force, so others
+    // can queue the records of the next batch in the meantime.
+    private void commit(boolean collect)
+    {
+        leaderActive = true;
+        try
+        {
+            // Other callers waiting, or more than one record queued, means writes are coming in concurrently.
+            if (collect && (waiters > 1 || pendingRecords > 1))
+            {
+                long remaining = windowNanos;
+                while (remaining > 0 && pendingRecords < maxBatchRecords)
+                {
+                    try
+                    {
+                        remaining = batchFull.awaitNanos(remaining);
+                    }
+                    catch (InterruptedException e)
+                    {
+                        // Cut the window short, and keep the interrupt for the caller.
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+            ByteBuffer batch = pending;
+            int batchRecords = pendingRecords;
+            long batchEnd = queued;
+            pending = spare;
+            pendingRecords = 0;
+            spare = null;
+            lock.unlock();
+            UncheckedIOException error = null;
+            try
+            {
+                batch.flip();
+                log.write(batch, batchRecords);
+                log.force();
+            }
+            catch (UncheckedIOException e)
+            {
+                error = e;
+            }
+            finally
+            {
+                lock.lock();
+            }
+            if (error != null)
+            {
+                // Nothing after a failed batch can be trusted to reach the disk in order.
+                failure = error;
+                return;
+            }
+            batch.clear();
+            spare = batch;
+            durable = batchEnd;
+        }
+        finally
+        {
+            leaderActive = false;
+            committed.signalAll();
+        }
+    }
+
+    private void makeRoom(int bytes)
+    {
+        if (pending.remaining() < bytes)
+        {
+            // The leader is still busy with the previous batch, so this one runs past its usual size.
+            ByteBuffer larger = ByteBuffer.allocate(pending.capacity() * 2 + bytes);
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    // Counts the record just encoded into pending and returns its sequence number.
+    private long recordQueued()
+    {
+        ++pendingRecords;
+        if (pendingRecords >= maxBatchRecords)
+        {
+            batchFull.signal();
+        }
+        return ++queued;
+    }
+}
@@ -0,0 +1,219 @@
+package org.example.bank.fileimpl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of fixed-size records: type (1 byte), account number (8), balance (8), CRC32 of the first 17 bytes (4).
+ * A transfer is a single longer record with both accounts: type (1), from (8), from balance (8), to (8),
+ * to balance (8), CRC32 (4), so a crash keeps either both new balances or neither.
+ * Records hold the new balance rather than the change, so replaying a record twice does no harm.
+ */
+class WriteAheadLog implements AutoCloseable
+{
+    static final byte OPEN = 1;
+    static final byte BALANCE = 2;
+    static final byte TRANSFER = 3;
+    static final int RECORD_SIZE = 21;
+    static final int TRANSFER_RECORD_SIZE = 37;
+
+    interface Replayer
+    {
+        void apply(byte type, long number, long balance);
+    }
+
+    private final FileChannel channel;
+    private final ByteBuffer record = ByteBuffer.allocate(TRANSFER_RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+    private long records;
+
+    WriteAheadLog(Path path)
+    {
+        try
+        {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        records = 0;
+    }
+
+    /**
+     * Applies every complete record in the log. A torn or corrupt record at the end, left by a crash
+     * in the middle of a write, is cut off together with anything after it.
+     */
+    void replay(Replayer replayer)
+    {
+        try
+        {
+            ByteBuffer all = ByteBuffer.allocate((int) channel.size());
+            while (all.hasRemaining())
+            {
+                if (channel.read(all, all.position()) < 0)
+                {
+                    break;
+                }
+            }
+            all.flip();
+            long valid = 0;
+            long count = 0;
+            while (all.hasRemaining())
+            {
+                int start = all.position();
+                int size = recordSize(all.get(start));
+                if (size < 0 || all.remaining() < size)
+                {
+                    break;
+                }
+                crc.reset();
+                crc.update(all.slice(start, size - Integer.BYTES));
+                if (all.getInt(start + size - Integer.BYTES) != (int) crc.getValue())
+                {
+                    break;
+                }
+                byte type = all.get();
+                if (type == TRANSFER)
+                {
+                    replayer.apply(BALANCE, all.getLong(), all.getLong());
+                    replayer.apply(BALANCE, all.getLong(), all.getLong());
+                }
+                else
+                {
+                    replayer.apply(type, all.getLong(), all.getLong());
+                }
+                all.getInt();
+                valid += size;
+                ++count;
+            }
+            channel.truncate(valid);
+            channel.position(valid);
+            records = count;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void append(byte type, long number, long balance)
+    {
+        record.clear();
+        encode(record, crc, type, number, balance);
+        record.flip();
+        write(record, 1);
+    }
+
+    void appendTransfer(long from, long fromBalance, long to, long toBalance)
+    {
+        record.clear();
+        encodeTransfer(record, crc, from, fromBalance, to, toBalance);
+        record.flip();
+        write(record, 1);
+    }
+
+    /**
+     * Writes a buffer of count whole records, as filled by {@link #encode} and {@link #encodeTransfer}, in one go.
+     */
+    void write(ByteBuffer batch, int count)
+    {
+        try
+        {
+            while (batch.hasRemaining())
+            {
+                channel.write(batch);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        records += count;
+    }
+
+    // Waits until everything written so far is on the disk. The file size is part of the data
+    // for an append-only file, so metadata is not needed on top of it.
+    void force()
+    {
+        try
+        {
+            channel.force(false);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void encode(ByteBuffer target, CRC32 crc, byte type, long number, long balance)
+    {
+        int start = target.position();
+        target.put(type).putLong(number).putLong(balance);
+        seal(target, crc, start);
+    }
+
+    static void encodeTransfer(ByteBuffer target, CRC32 crc, long from, long fromBalance, long to, long toBalance)
+    {
+        int start = target.position();
+        target.put(TRANSFER).putLong(from).putLong(fromBalance).putLong(to).putLong(toBalance);
+        seal(target, crc, start);
+    }
+
+    // Size of a record of the given type, or -1 for a byte that does not start a record.
+    static int recordSize(byte type)
+    {
+        return switch (type)
+        {
+            case OPEN, BALANCE -> RECORD_SIZE;
+            case TRANSFER -> TRANSFER_RECORD_SIZE;
+            default -> -1;
+        };
+    }
+
+    // Appends the checksum of everything written since start.
+    private static void seal(ByteBuffer target, CRC32 crc, int start)
+    {
+        crc.reset();
+        crc.update(target.array(), target.arrayOffset() + start, target.position() - start);
+        target.putInt((int) crc.getValue());
+    }
+
+    long records()
+    {
+        return records;
+    }
+
+    // Empties the log once its records are covered by a snapshot.
+    void reset()
+    {
+        try
+        {
+            channel.truncate(0);
+            channel.position(0);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        records = 0;
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
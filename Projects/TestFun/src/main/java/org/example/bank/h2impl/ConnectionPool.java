@@ -0,0 +1,133 @@
+package org.example.bank.h2impl;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Fixed number of connections, all opened up front. A caller borrows one connection for a piece of work
+ * and hands it back afterwards, waiting if all of them are busy. Each connection keeps the statements it has
+ * prepared, so the same SQL is only prepared once per connection.
+ */
+class ConnectionPool implements AutoCloseable
+{
+    interface Work<T>
+    {
+        T run(PooledConnection connection) throws SQLException;
+    }
+
+    private final BlockingQueue<PooledConnection> idle;
+    private final PooledConnection[] all;
+
+    ConnectionPool(String jdbcUrl, int size) throws SQLException
+    {
+        if (size <= 0)
+        {
+            throw new IllegalArgumentException("Pool size must be positive.");
+        }
+        idle = new ArrayBlockingQueue<>(size);
+        all = new PooledConnection[size];
+        try
+        {
+            for (int i = 0; i < size; i++)
+            {
+                all[i] = new PooledConnection(DriverManager.getConnection(jdbcUrl));
+                idle.add(all[i]);
+            }
+        }
+        catch (SQLException e)
+        {
+            close();
+            throw e;
+        }
+    }
+
+    <T> T execute(Work<T> work)
+    {
+        PooledConnection connection = borrow();
+        try
+        {
+            return work.run(connection);
+        }
+        catch (SQLException e)
+        {
+            throw new RuntimeException(e);
+        }
+        finally
+        {
+            idle.add(connection);
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        for (PooledConnection connection : all)
+        {
+            if (connection != null)
+            {
+                connection.close();
+            }
+        }
+    }
+
+    private PooledConnection borrow()
+    {
+        try
+        {
+            return idle.take();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a connection.", e);
+        }
+    }
+
+    /**
+     * Only used by one thread at a time, between borrowing and handing back, so the statement cache needs no locking.
+     */
+    static class PooledConnection
+    {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        PooledConnection(Connection connection)
+        {
+            this.connection = connection;
+        }
+
+        Connection connection()
+        {
+            return connection;
+        }
+
+        PreparedStatement prepare(String sql) throws SQLException
+        {
+            PreparedStatement ps = statements.get(sql);
+            if (ps == null)
+            {
+                ps = connection.prepareStatement(sql);
+                statements.put(sql, ps);
+            }
+            return ps;
+        }
+
+        void close()
+        {
+            try
+            {
+                connection.close();
+            }
+            catch (SQLException e)
+            {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
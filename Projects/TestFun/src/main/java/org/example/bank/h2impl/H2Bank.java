@@ -1,21 +1,33 @@
 package org.example.bank.h2impl;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.example.bank.Bank;
 import org.example.bankaccount.BankAccount;
 
-public class H2Bank implements Bank
+/**
+ * Safe to use from many threads. Work is spread over a small pool of connections. Deposits, withdrawals and
+ * balance lookups are a single statement each, and a transfer is one transaction of two updates. Account numbers
+ * this bank has opened or already found are remembered, so handing out one of those accounts again does not
+ * ask the database.
+ */
+public class H2Bank implements Bank, AutoCloseable
 {
-    private final Connection connection;
-    private long nextNumber;
+    private static final String INSERT_ACCOUNT = "INSERT INTO accounts (number, balance) VALUES (?, 0)";
+    private static final String ACCOUNT_EXISTS = "SELECT 1 FROM accounts WHERE number = ?";
+
+    private final ConnectionPool pool;
+    private final Set<String> knownNumbers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong nextNumber;
 
     public H2Bank()
     {
@@ -23,18 +35,16 @@ public class H2Bank implements Bank
     }
 
     public H2Bank(String jdbcUrl)
+    {
+        this(jdbcUrl, 1);
+    }
+
+    public H2Bank(String jdbcUrl, int poolSize)
     {
         try
         {
-            this.connection = DriverManager.getConnection(jdbcUrl);
-            try (Statement s = connection.createStatement())
-            {
-                s.execute("CREATE TABLE IF NOT EXISTS accounts (" +
-                          "  number VARCHAR(64) PRIMARY KEY," +
-                          "  balance BIGINT NOT NULL DEFAULT 0" +
-                          ")");
-            }
-            this.nextNumber = loadNextNumber();
+            this.pool = new ConnectionPool(jdbcUrl, poolSize);
+            this.nextNumber = new AtomicLong(pool.execute(H2Bank::createTable));
         }
         catch (SQLException e)
         {
@@ -45,50 +55,136 @@ public class H2Bank implements Bank
     @Override
     public String openAccount()
     {
-        String number = String.valueOf(nextNumber++);
-        try (PreparedStatement ps = connection.prepareStatement(
-                "INSERT INTO accounts (number, balance) VALUES (?, 0)"))
+        String number = String.valueOf(nextNumber.getAndIncrement());
+        pool.execute(c ->
         {
+            PreparedStatement ps = c.prepare(INSERT_ACCOUNT);
             ps.setString(1, number);
-            ps.executeUpdate();
-        }
-        catch (SQLException e)
-        {
-            throw new RuntimeException(e);
-        }
+            return ps.executeUpdate();
+        });
+        knownNumbers.add(number);
         return number;
     }
 
     @Override
     public BankAccount getAccount(String accountNumber)
     {
-        try (PreparedStatement ps = connection.prepareStatement(
-                "SELECT 1 FROM accounts WHERE number = ?"))
+        if (!knownNumbers.contains(accountNumber))
         {
-            ps.setString(1, accountNumber);
-            try (ResultSet rs = ps.executeQuery())
+            boolean exists = pool.execute(c ->
             {
-                if (!rs.next())
+                PreparedStatement ps = c.prepare(ACCOUNT_EXISTS);
+                ps.setString(1, accountNumber);
+                try (ResultSet rs = ps.executeQuery())
                 {
-                    throw new NoSuchElementException("No account: " + accountNumber);
+                    return rs.next();
                 }
+            });
+            if (!exists)
+            {
+                throw new NoSuchElementException("No account: " + accountNumber);
             }
+            knownNumbers.add(accountNumber);
         }
-        catch (SQLException e)
+        return new H2BankAccount(pool, accountNumber);
+    }
+
+    /**
+     * Runs both updates in one transaction. They are done in account number order, so two transfers
+     * going opposite ways between the same accounts lock the rows in the same order.
+     */
+    @Override
+    public void transfer(String fromAccount, String toAccount, long amount)
+    {
+        if (amount <= 0)
         {
-            throw new RuntimeException(e);
+            throw new IllegalArgumentException("Transfer amount must be positive.");
+        }
+        BankAccount from = getAccount(fromAccount);
+        getAccount(toAccount);
+        if (fromAccount.equals(toAccount))
+        {
+            if (amount > from.getBalance())
+            {
+                throw new IllegalStateException("Insufficient funds.");
+            }
+            return;
+        }
+        pool.execute(c ->
+        {
+            Connection connection = c.connection();
+            connection.setAutoCommit(false);
+            try
+            {
+                boolean withdrawFirst = fromAccount.compareTo(toAccount) < 0;
+                if (withdrawFirst)
+                {
+                    withdraw(c, fromAccount, amount);
+                }
+                PreparedStatement deposit = c.prepare(H2BankAccount.DEPOSIT);
+                deposit.setLong(1, amount);
+                deposit.setString(2, toAccount);
+                deposit.executeUpdate();
+                if (!withdrawFirst)
+                {
+                    withdraw(c, fromAccount, amount);
+                }
+                connection.commit();
+                return null;
+            }
+            catch (SQLException | RuntimeException e)
+            {
+                try
+                {
+                    connection.rollback();
+                }
+                catch (SQLException rollbackFailure)
+                {
+                    // Keep the original cause, e.g. insufficient funds, as the one that is reported.
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+            finally
+            {
+                connection.setAutoCommit(true);
+            }
+        });
+    }
+
+    @Override
+    public void close()
+    {
+        pool.close();
+    }
+
+    private static void withdraw(ConnectionPool.PooledConnection c, String number, long amount) throws SQLException
+    {
+        PreparedStatement ps = c.prepare(H2BankAccount.WITHDRAW);
+        ps.setLong(1, amount);
+        ps.setString(2, number);
+        ps.setLong(3, amount);
+        if (ps.executeUpdate() == 0)
+        {
+            throw new IllegalStateException("Insufficient funds.");
         }
-        return new H2BankAccount(connection, accountNumber);
     }
 
-    private long loadNextNumber() throws SQLException
+    // Creates the table if needed and returns the next free account number.
+    private static long createTable(ConnectionPool.PooledConnection c) throws SQLException
     {
-        try (Statement s = connection.createStatement();
-             ResultSet rs = s.executeQuery(
-                "SELECT COALESCE(MAX(CAST(number AS BIGINT)), 0) FROM accounts"))
+        try (Statement s = c.connection().createStatement())
         {
-            rs.next();
-            return rs.getLong(1) + 1;
+            s.execute("CREATE TABLE IF NOT EXISTS accounts (" +
+                      "  number VARCHAR(64) PRIMARY KEY," +
+                      "  balance BIGINT NOT NULL DEFAULT 0" +
+                      ")");
+            try (ResultSet rs = s.executeQuery(
+                    "SELECT COALESCE(MAX(CAST(number AS BIGINT)), 0) FROM accounts"))
+            {
+                rs.next();
+                return rs.getLong(1) + 1;
+            }
         }
     }
 }
@@ -1,20 +1,23 @@
 package org.example.bank.h2impl;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.SQLException;
 
 import org.example.bankaccount.BankAccount;
 
 class H2BankAccount implements BankAccount
 {
-    private final Connection connection;
+    static final String DEPOSIT = "UPDATE accounts SET balance = balance + ? WHERE number = ?";
+    // Only matches a row when the balance covers the amount, so the update count is the funds check.
+    static final String WITHDRAW = "UPDATE accounts SET balance = balance - ? WHERE number = ? AND balance >= ?";
+    private static final String BALANCE = "SELECT balance FROM accounts WHERE number = ?";
+
+    private final ConnectionPool pool;
     private final String number;
 
-    H2BankAccount(Connection connection, String number)
+    H2BankAccount(ConnectionPool pool, String number)
     {
-        this.connection = connection;
+        this.pool = pool;
         this.number = number;
     }
 
@@ -25,7 +28,13 @@ class H2BankAccount implements BankAccount
         {
             throw new IllegalArgumentException("Deposit amount must be positive.");
         }
-        applyDelta(amount);
+        pool.execute(c ->
+        {
+            PreparedStatement ps = c.prepare(DEPOSIT);
+            ps.setLong(1, amount);
+            ps.setString(2, number);
+            return ps.executeUpdate();
+        });
     }
 
     @Override
@@ -35,44 +44,32 @@ class H2BankAccount implements BankAccount
         {
             throw new IllegalArgumentException("Withdraw amount must be positive.");
         }
-        if (amount > getBalance())
+        int updated = pool.execute(c ->
+        {
+            PreparedStatement ps = c.prepare(WITHDRAW);
+            ps.setLong(1, amount);
+            ps.setString(2, number);
+            ps.setLong(3, amount);
+            return ps.executeUpdate();
+        });
+        if (updated == 0)
         {
             throw new IllegalStateException("Insufficient funds.");
         }
-        applyDelta(-amount);
     }
 
     @Override
     public long getBalance()
     {
-        try (PreparedStatement ps = connection.prepareStatement(
-                "SELECT balance FROM accounts WHERE number = ?"))
+        return pool.execute(c ->
         {
+            PreparedStatement ps = c.prepare(BALANCE);
             ps.setString(1, number);
             try (ResultSet rs = ps.executeQuery())
             {
                 rs.next();
                 return rs.getLong(1);
             }
-        }
-        catch (SQLException e)
-        {
-            throw new RuntimeException(e);
-        }
-    }
-
-    private void applyDelta(long delta)
-    {
-        try (PreparedStatement ps = connection.prepareStatement(
-                "UPDATE accounts SET balance = balance + ? WHERE number = ?"))
-        {
-            ps.setLong(1, delta);
-            ps.setString(2, number);
-            ps.executeUpdate();
-        }
-        catch (SQLException e)
-        {
-            throw new RuntimeException(e);
-        }
+        });
     }
 }
@@ -6,29 +6,51 @@ import java.util.NoSuchElementException;
 
 import org.example.bank.Bank;
 import org.example.bankaccount.BankAccount;
-import org.example.bankaccount.refimpl.BankAccountReferenceImpl;
 
 public class HashMapBank implements Bank
 {
-    private final Map<String, BankAccount> accounts = new HashMap<>();
+    private final Map<String, HashMapBankAccount> accounts = new HashMap<>();
     private long nextNumber = 1L;
 
     @Override
-    public String openAccount()
+    public synchronized String openAccount()
     {
         String number = String.valueOf(nextNumber++);
-        accounts.put(number, new BankAccountReferenceImpl());
+        accounts.put(number, new HashMapBankAccount(this));
         return number;
     }
 
     @Override
-    public BankAccount getAccount(String accountNumber)
+    public synchronized BankAccount getAccount(String accountNumber)
     {
-        BankAccount account = accounts.get(accountNumber);
+        HashMapBankAccount account = accounts.get(accountNumber);
         if (account == null)
         {
             throw new NoSuchElementException("No account: " + accountNumber);
         }
         return account;
     }
+
+    // The funds check comes before either change, and a positive deposit cannot fail. The accounts take
+    // the same lock for their own operations, so nothing else runs in between.
+    @Override
+    public synchronized void transfer(String fromAccount, String toAccount, long amount)
+    {
+        if (amount <= 0)
+        {
+            throw new IllegalArgumentException("Transfer amount must be positive.");
+        }
+        BankAccount from = getAccount(fromAccount);
+        BankAccount to = getAccount(toAccount);
+        if (from == to)
+        {
+            if (amount > from.getBalance())
+            {
+                throw new IllegalStateException("Insufficient funds.");
+            }
+            return;
+        }
+        from.withdraw(amount);
+        to.deposit(amount);
+    }
 }
@@ -0,0 +1,43 @@
+package org.example.bank.hashmapimpl;
+
+import org.example.bankaccount.BankAccount;
+import org.example.bankaccount.refimpl.BankAccountReferenceImpl;
+
+// Takes the bank's lock around every operation, so single operations and transfers exclude each other.
+class HashMapBankAccount implements BankAccount
+{
+    private final HashMapBank bank;
+    private final BankAccount account = new BankAccountReferenceImpl();
+
+    HashMapBankAccount(HashMapBank bank)
+    {
+        this.bank = bank;
+    }
+
+    @Override
+    public void deposit(long amount)
+    {
+        synchronized (bank)
+        {
+            account.deposit(amount);
+        }
+    }
+
+    @Override
+    public void withdraw(long amount)
+    {
+        synchronized (bank)
+        {
+            account.withdraw(amount);
+        }
+    }
+
+    @Override
+    public long getBalance()
+    {
+        synchronized (bank)
+        {
+            return account.getBalance();
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package org.example.bank.mmapimpl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.example.bank.Bank;
+import org.example.bankaccount.BankAccount;
+
+/**
+ * Keeps every balance in an 8-byte slot of a memory-mapped file. Account number n lives at a fixed
+ * offset, so a deposit or withdrawal is one atomic update of the mapped memory, and opening the bank
+ * parses nothing but the header. The file is a 64-byte header followed by the slots. The header holds the
+ * magic, the version, the number of accounts and the intent record of a transfer in progress.
+ * The slots are guarded by a fixed number of striped locks. A deposit or withdrawal shares the lock of its own
+ * stripe, so it only ever waits for a transfer that touches the same stripe, never for other deposits.
+ */
+public class MappedBank implements Bank, AutoCloseable
+{
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 8;
+    static final long INTENT_OFFSET = 16;
+    static final long INTENT_FROM_OFFSET = 24;
+    static final long INTENT_FROM_BALANCE_OFFSET = 32;
+    static final long INTENT_TO_OFFSET = 40;
+    static final long INTENT_TO_BALANCE_OFFSET = 48;
+    private static final int MAGIC = 0x424E4B4D; // "BNKM"
+    private static final int VERSION = 2;
+    private static final long MAGIC_OFFSET = 0;
+    private static final long VERSION_OFFSET = 4;
+    private static final long COUNT_OFFSET = 8;
+    private static final long NO_INTENT = 0;
+    private static final long TRANSFER_INTENT = 1;
+    private static final long DEFAULT_INITIAL_SLOTS = 1024;
+    private static final int LOCK_STRIPES = 64;
+    private static final VarHandle LONG = ValueLayout.JAVA_LONG.varHandle();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final List<Arena> arenas = new ArrayList<>();
+    // Slot n is guarded by stripe n % LOCK_STRIPES. Deposits and withdrawals take the read lock of their stripe,
+    // a transfer takes the write locks of both of its stripes. See transfer().
+    private final ReadWriteLock[] stripes = new ReadWriteLock[LOCK_STRIPES];
+    // There is one intent record, so only one transfer can be running at a time.
+    private final Object intentLock = new Object();
+    private volatile MemorySegment segment;
+    private long slots;
+    private long count;
+    private boolean closed;
+
+    public MappedBank()
+    {
+        this(createTempPath());
+    }
+
+    public MappedBank(Path file)
+    {
+        this(file, DEFAULT_INITIAL_SLOTS);
+    }
+
+    public MappedBank(Path file, long initialSlots)
+    {
+        if (initialSlots <= 0)
+        {
+            throw new IllegalArgumentException("Initial number of slots must be positive.");
+        }
+        this.file = file;
+        for (int i = 0; i < LOCK_STRIPES; i++)
+        {
+            stripes[i] = new ReentrantReadWriteLock();
+        }
+        try
+        {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = channel.size();
+            if (size == 0)
+            {
+                map(initialSlots);
+                segment.set(ValueLayout.JAVA_INT, MAGIC_OFFSET, MAGIC);
+                segment.set(ValueLayout.JAVA_INT, VERSION_OFFSET, VERSION);
+                count = 0;
+            }
+            else
+            {
+                // Checked before mapping, since mapping a foreign file read-write could change it.
+                if (size <= HEADER_SIZE || (size - HEADER_SIZE) % SLOT_SIZE != 0)
+                {
+                    throw notABankFile();
+                }
+                long fileSlots = (size - HEADER_SIZE) / SLOT_SIZE;
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+                while (header.hasRemaining() && channel.read(header, header.position()) >= 0)
+                {
+                    // Keep reading until the header is complete.
+                }
+                count = header.getLong((int) COUNT_OFFSET);
+                if (header.hasRemaining()
+                    || header.getInt((int) MAGIC_OFFSET) != MAGIC
+                    || header.getInt((int) VERSION_OFFSET) != VERSION
+                    || count < 0 || count > fileSlots)
+                {
+                    throw notABankFile();
+                }
+                map(fileSlots);
+                finishTransfer();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized String openAccount()
+    {
+        if (count == slots)
+        {
+            map(slots * 2);
+        }
+        long n = ++count;
+        LONG.setVolatile(segment, slotOffset(n), 0L);
+        LONG.setVolatile(segment, COUNT_OFFSET, n);
+        return String.valueOf(n);
+    }
+
+    @Override
+    public BankAccount getAccount(String accountNumber)
+    {
+        return new MappedBankAccount(this, slotOffset(accountNumber));
+    }
+
+    /**
+     * Crash-safe: the new balances of both accounts are first written to the intent record in the header and
+     * forced to disk, then the two slots are updated and forced, and then the intent is cleared. Opening the
+     * bank finishes a transfer whose intent is still there. That costs three forces per transfer.
+     * Deposits and withdrawals on the lock stripes of the two accounts wait while the transfer is running, since
+     * finishing it would overwrite their change.
+     */
+    @Override
+    public void transfer(String fromAccount, String toAccount, long amount)
+    {
+        if (amount <= 0)
+        {
+            throw new IllegalArgumentException("Transfer amount must be positive.");
+        }
+        long from = slotOffset(fromAccount);
+        long to = slotOffset(toAccount);
+        if (from == to)
+        {
+            if (amount > getBalance(from))
+            {
+                throw new IllegalStateException("Insufficient funds.");
+            }
+            return;
+        }
+        // Always in stripe order, so two transfers can never wait for each other's stripe. Both accounts may be
+        // in the same stripe, and then the write lock is simply taken twice.
+        int fromStripe = stripeIndex(from);
+        int toStripe = stripeIndex(to);
+        Lock first = stripes[Math.min(fromStripe, toStripe)].writeLock();
+        Lock second = stripes[Math.max(fromStripe, toStripe)].writeLock();
+        synchronized (intentLock)
+        {
+            first.lock();
+            second.lock();
+            try
+            {
+                MemorySegment s = segment;
+                long fromBalance = (long) LONG.getVolatile(s, from);
+                if (amount > fromBalance)
+                {
+                    throw new IllegalStateException("Insufficient funds.");
+                }
+                long toBalance = (long) LONG.getVolatile(s, to);
+                s.set(ValueLayout.JAVA_LONG, INTENT_FROM_OFFSET, from);
+                s.set(ValueLayout.JAVA_LONG, INTENT_FROM_BALANCE_OFFSET, fromBalance - amount);
+                s.set(ValueLayout.JAVA_LONG, INTENT_TO_OFFSET, to);
+                s.set(ValueLayout.JAVA_LONG, INTENT_TO_BALANCE_OFFSET, toBalance + amount);
+                LONG.setVolatile(s, INTENT_OFFSET, TRANSFER_INTENT);
+                s.asSlice(0, HEADER_SIZE).force();
+                applyIntent(s);
+            }
+            finally
+            {
+                second.unlock();
+                first.unlock();
+            }
+        }
+    }
+
+    private long slotOffset(String accountNumber)
+    {
+        long n;
+        try
+        {
+            n = Long.parseLong(accountNumber);
+        }
+        catch (NumberFormatException e)
+        {
+            throw new NoSuchElementException("No account: " + accountNumber);
+        }
+        if (n < 1 || n > (long) LONG.getVolatile(segment, COUNT_OFFSET))
+        {
+            throw new NoSuchElementException("No account: " + accountNumber);
+        }
+        return slotOffset(n);
+    }
+
+    public Path getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Writes the changed pages of the mapping to the disk.
+     */
+    public void force()
+    {
+        segment.force();
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        if (closed)
+        {
+            return;
+        }
+        closed = true;
+        force();
+        for (Arena arena : arenas)
+        {
+            arena.close();
+        }
+        arenas.clear();
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    long getBalance(long offset)
+    {
+        return (long) LONG.getVolatile(segment, offset);
+    }
+
+    void add(long offset, long amount)
+    {
+        Lock lock = stripes[stripeIndex(offset)].readLock();
+        lock.lock();
+        try
+        {
+            LONG.getAndAdd(segment, offset, amount);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    // Takes amount out only if the balance covers it, retrying when another thread changed the balance first.
+    boolean subtractIfCovered(long offset, long amount)
+    {
+        Lock lock = stripes[stripeIndex(offset)].readLock();
+        lock.lock();
+        try
+        {
+            MemorySegment s = segment;
+            while (true)
+            {
+                long balance = (long) LONG.getVolatile(s, offset);
+                if (amount > balance)
+                {
+                    return false;
+                }
+                if (LONG.compareAndSet(s, offset, balance, balance - amount))
+                {
+                    return true;
+                }
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    // Finishes a transfer that was cut short, when the file is opened. The intent holds the new balances
+    // rather than the amount, so finishing a transfer whose slots were already updated changes nothing.
+    private void finishTransfer()
+    {
+        if ((long) LONG.getVolatile(segment, INTENT_OFFSET) == NO_INTENT)
+        {
+            return;
+        }
+        long from = segment.get(ValueLayout.JAVA_LONG, INTENT_FROM_OFFSET);
+        long to = segment.get(ValueLayout.JAVA_LONG, INTENT_TO_OFFSET);
+        long end = HEADER_SIZE + count * SLOT_SIZE;
+        for (long offset : new long[] {from, to})
+        {
+            if (offset < HEADER_SIZE || offset >= end || (offset - HEADER_SIZE) % SLOT_SIZE != 0)
+            {
+                throw notABankFile();
+            }
+        }
+        applyIntent(segment);
+    }
+
+    // Copies the balances in the intent record to their slots, forces them, then clears and forces the intent.
+    private void applyIntent(MemorySegment s)
+    {
+        long from = s.get(ValueLayout.JAVA_LONG, INTENT_FROM_OFFSET);
+        long to = s.get(ValueLayout.JAVA_LONG, INTENT_TO_OFFSET);
+        LONG.setVolatile(s, from, s.get(ValueLayout.JAVA_LONG, INTENT_FROM_BALANCE_OFFSET));
+        LONG.setVolatile(s, to, s.get(ValueLayout.JAVA_LONG, INTENT_TO_BALANCE_OFFSET));
+        s.asSlice(from, SLOT_SIZE).force();
+        s.asSlice(to, SLOT_SIZE).force();
+        LONG.setVolatile(s, INTENT_OFFSET, NO_INTENT);
+        s.asSlice(0, HEADER_SIZE).force();
+    }
+
+    // Maps the file again with room for the given number of slots, growing the file if needed. Earlier
+    // mappings stay open until close(), since other threads may still be using them. They are views of the
+    // same pages, so a write through an old mapping is seen through the new one.
+    private void map(long newSlots)
+    {
+        Arena arena = Arena.ofShared();
+        try
+        {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + newSlots * SLOT_SIZE, arena);
+        }
+        catch (IOException e)
+        {
+            arena.close();
+            throw new UncheckedIOException(e);
+        }
+        arenas.add(arena);
+        slots = newSlots;
+    }
+
+    // Lets go of the file before reporting that it is not ours.
+    private IllegalArgumentException notABankFile()
+    {
+        for (Arena arena : arenas)
+        {
+            arena.close();
+        }
+        arenas.clear();
+        try
+        {
+            channel.close();
+        }
+        catch (IOException e)
+        {
+            // Already failing.
+        }
+        return new IllegalArgumentException("Not a bank file: " + file);
+    }
+
+    private static int stripeIndex(long offset)
+    {
+        return (int) ((offset - HEADER_SIZE) / SLOT_SIZE % LOCK_STRIPES);
+    }
+
+    private static long slotOffset(long number)
+    {
+        return HEADER_SIZE + (number - 1) * SLOT_SIZE;
+    }
+
+    private static Path createTempPath()
+    {
+        try
+        {
+            Path path = Files.createTempFile("mappedbank-", ".bank");
+            path.toFile().deleteOnExit();
+            return path;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
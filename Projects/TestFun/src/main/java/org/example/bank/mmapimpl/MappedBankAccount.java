@@ -0,0 +1,44 @@
+package org.example.bank.mmapimpl;
+
+import org.example.bankaccount.BankAccount;
+
+class MappedBankAccount implements BankAccount
+{
+    private final MappedBank bank;
+    private final long offset;
+
+    MappedBankAccount(MappedBank bank, long offset)
+    {
+        this.bank = bank;
+        this.offset = offset;
+    }
+
+    @Override
+    public void deposit(long amount)
+    {
+        if (amount <= 0)
+        {
+            throw new IllegalArgumentException("Deposit amount must be positive.");
+        }
+        bank.add(offset, amount);
+    }
+
+    @Override
+    public void withdraw(long amount)
+    {
+        if (amount <= 0)
+        {
+            throw new IllegalArgumentException("Withdraw amount must be positive.");
+        }
+        if (!bank.subtractIfCovered(offset, amount))
+        {
+            throw new IllegalStateException("Insufficient funds.");
+        }
+    }
+
+    @Override
+    public long getBalance()
+    {
+        return bank.getBalance(offset);
+    }
+}
@@ -1,7 +1,10 @@
 package org.example.bank;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -15,12 +18,33 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public abstract class BankTest
 {
+    private final List<Bank> banks = new ArrayList<>();
+
     protected abstract Bank createBank();
 
+    @AfterEach
+    void closeBanks() throws Exception
+    {
+        for (Bank bank : banks)
+        {
+            if (bank instanceof AutoCloseable closeable)
+            {
+                closeable.close();
+            }
+        }
+    }
+
+    private Bank newBank()
+    {
+        Bank bank = createBank();
+        banks.add(bank);
+        return bank;
+    }
+
     @Test
     void openAccountReturnsDifferentNumbersOnRepeatedCalls()
     {
-        Bank bank = createBank();
+        Bank bank = newBank();
         String a = bank.openAccount();
         String b = bank.openAccount();
         assertNotEquals(a, b);
@@ -29,7 +53,7 @@ public abstract class BankTest
     @Test
     void newlyOpenedAccountHasZeroBalance()
     {
-        Bank bank = createBank();
+        Bank bank = newBank();
         BankAccount account = bank.getAccount(bank.openAccount());
         assertEquals(0L, account.getBalance());
     }
@@ -37,14 +61,14 @@ public abstract class BankTest
     @Test
     void getAccountThrowsForUnknownNumber()
     {
-        Bank bank = createBank();
+        Bank bank = newBank();
         assertThrows(NoSuchElementException.class, () -> bank.getAccount("does-not-exist"));
     }
 
     @Test
     void getAccountReturnsTheSameAccountState()
     {
-        Bank bank = createBank();
+        Bank bank = newBank();
         String number = bank.openAccount();
         bank.getAccount(number).deposit(100L);
         assertEquals(100L, bank.getAccount(number).getBalance());
@@ -53,7 +77,7 @@ public abstract class BankTest
     @Test
     void differentAccountsInSameBankAreIndependent()
     {
-        Bank bank = createBank();
+        Bank bank = newBank();
         String a = bank.openAccount();
         String b = bank.openAccount();
         bank.getAccount(a).deposit(100L);
@@ -62,6 +86,88 @@ public abstract class BankTest
         assertEquals(200L, bank.getAccount(b).getBalance());
     }
 
+    @Test
+    void transferMovesMoneyBetweenAccounts()
+    {
+        Bank bank = newBank();
+        String a = bank.openAccount();
+        String b = bank.openAccount();
+        bank.getAccount(a).deposit(1_000L);
+
+        bank.transfer(a, b, 300L);
+
+        assertEquals(700L, bank.getAccount(a).getBalance());
+        assertEquals(300L, bank.getAccount(b).getBalance());
+    }
+
+    @Test
+    void transferWithInsufficientFundsChangesNothing()
+    {
+        Bank bank = newBank();
+        String a = bank.openAccount();
+        String b = bank.openAccount();
+        bank.getAccount(a).deposit(100L);
+
+        assertThrows(IllegalStateException.class, () -> bank.transfer(a, b, 200L));
+
+        assertEquals(100L, bank.getAccount(a).getBalance());
+        assertEquals(0L, bank.getAccount(b).getBalance());
+    }
+
+    @Test
+    void transferToUnknownAccountChangesNothing()
+    {
+        Bank bank = newBank();
+        String a = bank.openAccount();
+        bank.getAccount(a).deposit(100L);
+
+        assertThrows(NoSuchElementException.class, () -> bank.transfer(a, "does-not-exist", 50L));
+        assertThrows(NoSuchElementException.class, () -> bank.transfer("does-not-exist", a, 50L));
+
+        assertEquals(100L, bank.getAccount(a).getBalance());
+    }
+
+    @Test
+    void transferRejectsNonPositiveAmounts()
+    {
+        Bank bank = newBank();
+        String a = bank.openAccount();
+        String b = bank.openAccount();
+        bank.getAccount(a).deposit(100L);
+
+        assertThrows(IllegalArgumentException.class, () -> bank.transfer(a, b, 0L));
+        assertThrows(IllegalArgumentException.class, () -> bank.transfer(a, b, -5L));
+
+        assertEquals(100L, bank.getAccount(a).getBalance());
+        assertEquals(0L, bank.getAccount(b).getBalance());
+    }
+
+    @Test
+    void transferToTheSameAccountLeavesBalanceUnchanged()
+    {
+        Bank bank = newBank();
+        String a = bank.openAccount();
+        bank.getAccount(a).deposit(100L);
+
+        bank.transfer(a, a, 40L);
+
+        assertEquals(100L, bank.getAccount(a).getBalance());
+    }
+
+    @Test
+    void transferToTheSameAccountIsStillChecked()
+    {
+        Bank bank = newBank();
+        String a = bank.openAccount();
+        bank.getAccount(a).deposit(100L);
+
+        assertThrows(IllegalStateException.class, () -> bank.transfer(a, a, 200L));
+        assertThrows(IllegalArgumentException.class, () -> bank.transfer(a, a, 0L));
+        assertThrows(NoSuchElementException.class, () -> bank.transfer("does-not-exist", "does-not-exist", 10L));
+
+        assertEquals(100L, bank.getAccount(a).getBalance());
+    }
+
     @Nested
     @DisplayName("Accounts produced by this bank")
     class ProducedAccounts extends BankAccountTest
@@ -69,7 +175,7 @@ public abstract class BankTest
         @Override
         protected BankAccount createBankAccount()
         {
-            Bank bank = createBank();
+            Bank bank = newBank();
             return bank.getAccount(bank.openAccount());
         }
     }
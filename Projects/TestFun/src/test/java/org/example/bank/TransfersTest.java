@@ -1,8 +1,11 @@
 package org.example.bank;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -10,6 +13,7 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.example.bank.fileimpl.FileBank;
 import org.example.bank.h2impl.H2Bank;
 import org.example.bank.hashmapimpl.HashMapBank;
+import org.example.bank.mmapimpl.MappedBank;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -18,11 +22,14 @@ import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 class TransfersTest
 {
+    private final List<Bank> banks = new ArrayList<>();
+
     static Stream<Arguments> bankPairs()
     {
         Supplier<Bank> mem  = HashMapBank::new;
         Supplier<Bank> file = FileBank::new;
         Supplier<Bank> h2   = H2Bank::new;
+        Supplier<Bank> mmap = MappedBank::new;
         return Stream.of(
             arguments(named("mem",  mem),  named("mem",  mem)),
             arguments(named("mem",  mem),  named("file", file)),
@@ -30,16 +37,38 @@ class TransfersTest
             arguments(named("file", file), named("mem",  mem)),
             arguments(named("file", file), named("h2",   h2)),
             arguments(named("h2",   h2),   named("file", file)),
-            arguments(named("h2",   h2),   named("h2",   h2))
+            arguments(named("h2",   h2),   named("h2",   h2)),
+            arguments(named("mem",  mem),  named("mmap", mmap)),
+            arguments(named("mmap", mmap), named("file", file)),
+            arguments(named("mmap", mmap), named("mmap", mmap))
         );
     }
 
+    @AfterEach
+    void closeBanks() throws Exception
+    {
+        for (Bank bank : banks)
+        {
+            if (bank instanceof AutoCloseable closeable)
+            {
+                closeable.close();
+            }
+        }
+    }
+
+    private Bank open(Supplier<Bank> factory)
+    {
+        Bank bank = factory.get();
+        banks.add(bank);
+        return bank;
+    }
+
     @ParameterizedTest(name = "{0} -> {1}")
     @MethodSource("bankPairs")
     void moneyMovesBetweenBanks(Supplier<Bank> srcFactory, Supplier<Bank> destFactory)
     {
-        Bank src = srcFactory.get();
-        Bank dest = destFactory.get();
+        Bank src = open(srcFactory);
+        Bank dest = open(destFactory);
         String numA = src.openAccount();
         String numB = dest.openAccount();
         src.getAccount(numA).deposit(1_000L);
@@ -54,8 +83,8 @@ class TransfersTest
     @MethodSource("bankPairs")
     void insufficientFundsLeavesBothAccountsUnchanged(Supplier<Bank> srcFactory, Supplier<Bank> destFactory)
     {
-        Bank src = srcFactory.get();
-        Bank dest = destFactory.get();
+        Bank src = open(srcFactory);
+        Bank dest = open(destFactory);
         String numA = src.openAccount();
         String numB = dest.openAccount();
         src.getAccount(numA).deposit(100L);
@@ -71,8 +100,8 @@ class TransfersTest
     @MethodSource("bankPairs")
     void canTransferBack(Supplier<Bank> srcFactory, Supplier<Bank> destFactory)
     {
-        Bank src = srcFactory.get();
-        Bank dest = destFactory.get();
+        Bank src = open(srcFactory);
+        Bank dest = open(destFactory);
         String numA = src.openAccount();
         String numB = dest.openAccount();
         src.getAccount(numA).deposit(1_000L);
@@ -0,0 +1,13 @@
+package org.example.bank.fileimpl;
+
+import org.example.bank.Bank;
+import org.example.bank.BankTest;
+
+public class FileBankDurableTest extends BankTest
+{
+    @Override
+    protected Bank createBank()
+    {
+        return new FileBank(FileBankMode.DURABLE_WRITE_AHEAD_LOG);
+    }
+}
@@ -0,0 +1,327 @@
+package org.example.bank.fileimpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.example.bankaccount.BankAccount;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileBankRecoveryTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void balancesSurviveRestartFromTheLog()
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank bank = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG);
+        String a = bank.openAccount();
+        String b = bank.openAccount();
+        bank.getAccount(a).deposit(500L);
+        bank.getAccount(a).withdraw(120L);
+        bank.getAccount(b).deposit(70L);
+
+        try (FileBank reopened = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG))
+        {
+            assertEquals(380L, reopened.getAccount(a).getBalance());
+            assertEquals(70L, reopened.getAccount(b).getBalance());
+            String c = reopened.openAccount();
+            assertNotEquals(a, c);
+            assertNotEquals(b, c);
+        }
+        bank.close();
+    }
+
+    @Test
+    void compactionKeepsTheLogShort() throws IOException
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank bank = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG, 4);
+        String a = bank.openAccount();
+        for (int i = 0; i < 10; i++)
+        {
+            bank.getAccount(a).deposit(10L);
+        }
+
+        assertTrue(Files.size(logPath(file)) < 4L * WriteAheadLog.RECORD_SIZE);
+        try (FileBank reopened = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG))
+        {
+            assertEquals(100L, reopened.getAccount(a).getBalance());
+        }
+        bank.close();
+    }
+
+    @Test
+    void closeLeavesEverythingInTheSnapshot() throws IOException
+    {
+        Path file = dir.resolve("bank.properties");
+        String a;
+        try (FileBank bank = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG))
+        {
+            a = bank.openAccount();
+            bank.getAccount(a).deposit(250L);
+        }
+
+        assertEquals(0L, Files.size(logPath(file)));
+        try (FileBank reopened = new FileBank(file, FileBankMode.SNAPSHOT))
+        {
+            assertEquals(250L, reopened.getAccount(a).getBalance());
+        }
+    }
+
+    @Test
+    void snapshotModeFoldsInTheLogOfACrashedLogModeBank()
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank crashed = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG);
+        String a = crashed.openAccount();
+        crashed.getAccount(a).deposit(100L);
+
+        try (FileBank reopened = new FileBank(file))
+        {
+            assertEquals(100L, reopened.getAccount(a).getBalance());
+            assertNotEquals(a, reopened.openAccount());
+            assertFalse(Files.exists(logPath(file)));
+            reopened.getAccount(a).deposit(5L);
+        }
+        try (FileBank reopened = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG))
+        {
+            assertEquals(105L, reopened.getAccount(a).getBalance());
+        }
+        crashed.close();
+    }
+
+    @Test
+    void closingTwiceIsHarmless()
+    {
+        FileBank bank = new FileBank(dir.resolve("bank.properties"), FileBankMode.WRITE_AHEAD_LOG);
+        bank.openAccount();
+
+        bank.close();
+        bank.close();
+    }
+
+    @Test
+    void changesAfterCloseAreRejected()
+    {
+        FileBank bank = new FileBank(dir.resolve("bank.properties"), FileBankMode.WRITE_AHEAD_LOG);
+        String a = bank.openAccount();
+        BankAccount account = bank.getAccount(a);
+        account.deposit(10L);
+        bank.close();
+
+        assertThrows(IllegalStateException.class, () -> account.deposit(5L));
+        assertThrows(IllegalStateException.class, () -> account.withdraw(5L));
+        assertThrows(IllegalStateException.class, bank::openAccount);
+        assertEquals(10L, account.getBalance());
+    }
+
+    @Test
+    void tornRecordAtTheEndOfTheLogIsDropped() throws IOException
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank bank = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG);
+        String a = bank.openAccount();
+        bank.getAccount(a).deposit(40L);
+        Files.write(logPath(file), new byte[] {2, 0, 0, 0, 0, 0, 0, 0, 1, 0}, StandardOpenOption.APPEND);
+
+        FileBank reopened = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG);
+        reopened.getAccount(a).deposit(2L);
+
+        try (FileBank again = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG))
+        {
+            assertEquals(42L, again.getAccount(a).getBalance());
+        }
+        reopened.close();
+        bank.close();
+    }
+
+    @Test
+    void recordWithBadChecksumIsDropped() throws IOException
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank bank = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG);
+        String a = bank.openAccount();
+        bank.getAccount(a).deposit(40L);
+        bank.getAccount(a).deposit(60L);
+        byte[] bytes = Files.readAllBytes(logPath(file));
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(logPath(file), bytes);
+
+        try (FileBank reopened = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG))
+        {
+            assertEquals(40L, reopened.getAccount(a).getBalance());
+        }
+        bank.close();
+    }
+
+    @Test
+    void durableChangesAreInTheLogWhenTheyReturn() throws IOException
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank bank = new FileBank(file, FileBankMode.DURABLE_WRITE_AHEAD_LOG);
+        String a = bank.openAccount();
+        bank.getAccount(a).deposit(90L);
+        bank.getAccount(a).withdraw(15L);
+
+        assertEquals(3L * WriteAheadLog.RECORD_SIZE, Files.size(logPath(file)));
+        try (FileBank reopened = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG))
+        {
+            assertEquals(75L, reopened.getAccount(a).getBalance());
+        }
+        bank.close();
+    }
+
+    @Test
+    void concurrentDurableChangesAreAllKept() throws Exception
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank bank = new FileBank(file, FileBankMode.DURABLE_WRITE_AHEAD_LOG, 64, Duration.ofMillis(1), 8);
+        String shared = bank.openAccount();
+        int threads = 8;
+        int deposits = 50;
+        List<String> own = new ArrayList<>();
+        for (int t = 0; t < threads; t++)
+        {
+            own.add(bank.openAccount());
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String number : own)
+            {
+                futures.add(pool.submit(() ->
+                {
+                    for (int i = 0; i < deposits; i++)
+                    {
+                        bank.getAccount(shared).deposit(1L);
+                        bank.getAccount(number).deposit(2L);
+                    }
+                }));
+            }
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        try (FileBank reopened = new FileBank(file, FileBankMode.DURABLE_WRITE_AHEAD_LOG))
+        {
+            assertEquals((long) threads * deposits, reopened.getAccount(shared).getBalance());
+            for (String number : own)
+            {
+                assertEquals(2L * deposits, reopened.getAccount(number).getBalance());
+            }
+        }
+        bank.close();
+    }
+
+    @Test
+    void loneWriterDoesNotWaitForTheCommitWindow()
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank bank = new FileBank(file, FileBankMode.DURABLE_WRITE_AHEAD_LOG, 100, Duration.ofSeconds(10), 256);
+        String a = bank.openAccount();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++)
+        {
+            bank.getAccount(a).deposit(1L);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(10)) < 0, "took " + elapsed);
+        try (FileBank reopened = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG))
+        {
+            assertEquals(20L, reopened.getAccount(a).getBalance());
+        }
+        bank.close();
+    }
+
+    @Test
+    void zeroCommitWindowStillWorks()
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank bank = new FileBank(file, FileBankMode.DURABLE_WRITE_AHEAD_LOG, 100, Duration.ZERO, 1);
+        String a = bank.openAccount();
+        for (int i = 0; i < 5; i++)
+        {
+            bank.getAccount(a).deposit(3L);
+        }
+
+        try (FileBank reopened = new FileBank(file, FileBankMode.DURABLE_WRITE_AHEAD_LOG))
+        {
+            assertEquals(15L, reopened.getAccount(a).getBalance());
+        }
+        bank.close();
+    }
+
+    @Test
+    void transferIsOneLogRecord() throws IOException
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank bank = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG);
+        String a = bank.openAccount();
+        String b = bank.openAccount();
+        bank.getAccount(a).deposit(100L);
+        long before = Files.size(logPath(file));
+
+        bank.transfer(a, b, 30L);
+
+        assertEquals(before + WriteAheadLog.TRANSFER_RECORD_SIZE, Files.size(logPath(file)));
+        try (FileBank reopened = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG))
+        {
+            assertEquals(70L, reopened.getAccount(a).getBalance());
+            assertEquals(30L, reopened.getAccount(b).getBalance());
+        }
+        bank.close();
+    }
+
+    @Test
+    void tornTransferChangesNeitherAccount() throws IOException
+    {
+        Path file = dir.resolve("bank.properties");
+        FileBank bank = new FileBank(file, FileBankMode.DURABLE_WRITE_AHEAD_LOG);
+        String a = bank.openAccount();
+        String b = bank.openAccount();
+        bank.getAccount(a).deposit(100L);
+        bank.transfer(a, b, 30L);
+        byte[] bytes = Files.readAllBytes(logPath(file));
+        Files.write(logPath(file), Arrays.copyOf(bytes, bytes.length - 5));
+
+        try (FileBank reopened = new FileBank(file, FileBankMode.WRITE_AHEAD_LOG))
+        {
+            assertEquals(100L, reopened.getAccount(a).getBalance());
+            assertEquals(0L, reopened.getAccount(b).getBalance());
+        }
+        bank.close();
+    }
+
+    private static Path logPath(Path file)
+    {
+        return file.resolveSibling(file.getFileName() + ".wal");
+    }
+}
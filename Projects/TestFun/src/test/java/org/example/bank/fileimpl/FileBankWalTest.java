@@ -0,0 +1,13 @@
+package org.example.bank.fileimpl;
+
+import org.example.bank.Bank;
+import org.example.bank.BankTest;
+
+public class FileBankWalTest extends BankTest
+{
+    @Override
+    protected Bank createBank()
+    {
+        return new FileBank(FileBankMode.WRITE_AHEAD_LOG);
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.bank.h2impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class H2BankConcurrencyTest
+{
+    @Test
+    void concurrentWithdrawalsNeverOverdraw() throws Exception
+    {
+        try (H2Bank bank = new H2Bank("jdbc:h2:mem:h2bank-" + UUID.randomUUID(), 4))
+        {
+            String number = bank.openAccount();
+            bank.getAccount(number).deposit(1_000L);
+            int threads = 8;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            int succeeded = 0;
+            try
+            {
+                List<Future<Integer>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++)
+                {
+                    futures.add(pool.submit(() ->
+                    {
+                        int ok = 0;
+                        for (int i = 0; i < 200; i++)
+                        {
+                            try
+                            {
+                                bank.getAccount(number).withdraw(1L);
+                                ok++;
+                            }
+                            catch (IllegalStateException e)
+                            {
+                                // Out of money, which is expected once 1000 withdrawals went through.
+                            }
+                        }
+                        return ok;
+                    }));
+                }
+                for (Future<Integer> future : futures)
+                {
+                    succeeded += future.get();
+                }
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+
+            assertEquals(1_000, succeeded);
+            assertEquals(0L, bank.getAccount(number).getBalance());
+        }
+    }
+
+    @Test
+    void accountsOpenedByAnotherBankOnTheSameDatabaseAreFound()
+    {
+        String url = "jdbc:h2:mem:h2bank-" + UUID.randomUUID();
+        try (H2Bank first = new H2Bank(url, 2); H2Bank second = new H2Bank(url, 2))
+        {
+            String number = first.openAccount();
+            first.getAccount(number).deposit(40L);
+
+            assertEquals(40L, second.getAccount(number).getBalance());
+            assertThrows(NoSuchElementException.class, () -> second.getAccount("999"));
+        }
+    }
+}
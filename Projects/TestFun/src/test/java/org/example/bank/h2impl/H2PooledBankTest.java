@@ -0,0 +1,15 @@
+package org.example.bank.h2impl;
+
+import java.util.UUID;
+
+import org.example.bank.Bank;
+import org.example.bank.BankTest;
+
+public class H2PooledBankTest extends BankTest
+{
+    @Override
+    protected Bank createBank()
+    {
+        return new H2Bank("jdbc:h2:mem:h2bank-" + UUID.randomUUID(), 4);
+    }
+}
@@ -1,8 +1,18 @@
 package org.example.bank.hashmapimpl;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
 import org.example.bank.Bank;
 import org.example.bank.BankTest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 public class HashMapBankTest extends BankTest
 {
     @Override
@@ -10,4 +20,48 @@ public class HashMapBankTest extends BankTest
     {
         return new HashMapBank();
     }
+
+    @Test
+    void transfersAndWithdrawalsFromManyThreadsLoseNothing() throws Exception
+    {
+        HashMapBank bank = new HashMapBank();
+        String a = bank.openAccount();
+        String b = bank.openAccount();
+        bank.getAccount(a).deposit(20_000L);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++)
+            {
+                boolean transfers = t % 2 == 0;
+                futures.add(pool.submit(() ->
+                {
+                    for (int i = 0; i < 2_000; i++)
+                    {
+                        if (transfers)
+                        {
+                            bank.transfer(a, b, 1L);
+                        }
+                        else
+                        {
+                            bank.getAccount(a).withdraw(1L);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures)
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+
+        assertEquals(4_000L, bank.getAccount(a).getBalance());
+        assertEquals(8_000L, bank.getAccount(b).getBalance());
+    }
 }
@@ -0,0 +1,295 @@
+package org.example.bank.mmapimpl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.example.bankaccount.BankAccount;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedBankPersistenceTest
+{
+    @TempDir
+    Path dir;
+
+    @Test
+    void balancesSurviveReopening()
+    {
+        Path file = dir.resolve("bank.bank");
+        String a;
+        String b;
+        try (MappedBank bank = new MappedBank(file))
+        {
+            a = bank.openAccount();
+            b = bank.openAccount();
+            bank.getAccount(a).deposit(500L);
+            bank.getAccount(a).withdraw(120L);
+            bank.getAccount(b).deposit(70L);
+        }
+
+        try (MappedBank reopened = new MappedBank(file))
+        {
+            assertEquals(380L, reopened.getAccount(a).getBalance());
+            assertEquals(70L, reopened.getAccount(b).getBalance());
+            String c = reopened.openAccount();
+            assertNotEquals(a, c);
+            assertNotEquals(b, c);
+        }
+    }
+
+    @Test
+    void transfersSurviveReopening()
+    {
+        Path file = dir.resolve("bank.bank");
+        String a;
+        String b;
+        try (MappedBank bank = new MappedBank(file))
+        {
+            a = bank.openAccount();
+            b = bank.openAccount();
+            bank.getAccount(a).deposit(300L);
+            bank.transfer(a, b, 120L);
+        }
+
+        try (MappedBank reopened = new MappedBank(file))
+        {
+            assertEquals(180L, reopened.getAccount(a).getBalance());
+            assertEquals(120L, reopened.getAccount(b).getBalance());
+        }
+    }
+
+    @Test
+    void transferCutShortIsFinishedOnOpening() throws IOException
+    {
+        Path file = dir.resolve("bank.bank");
+        try (MappedBank bank = new MappedBank(file, 2))
+        {
+            bank.openAccount();
+            bank.openAccount();
+            bank.getAccount("1").deposit(300L);
+        }
+        // What a crash right after forcing the intent of a 120 transfer from 1 to 2 leaves behind.
+        ByteBuffer intent = ByteBuffer.allocate(40).order(ByteOrder.nativeOrder());
+        intent.putLong(1L)
+              .putLong(MappedBank.HEADER_SIZE)
+              .putLong(180L)
+              .putLong(MappedBank.HEADER_SIZE + MappedBank.SLOT_SIZE)
+              .putLong(120L)
+              .flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE))
+        {
+            channel.write(intent, MappedBank.INTENT_OFFSET);
+        }
+
+        try (MappedBank reopened = new MappedBank(file))
+        {
+            assertEquals(180L, reopened.getAccount("1").getBalance());
+            assertEquals(120L, reopened.getAccount("2").getBalance());
+            // The intent is cleared, so the next deposit is not undone by opening the file once more.
+            reopened.getAccount("2").deposit(5L);
+        }
+        try (MappedBank reopened = new MappedBank(file))
+        {
+            assertEquals(180L, reopened.getAccount("1").getBalance());
+            assertEquals(125L, reopened.getAccount("2").getBalance());
+        }
+    }
+
+    @Test
+    void transfersWorkBetweenAccountsThatShareALockStripe()
+    {
+        try (MappedBank bank = new MappedBank(dir.resolve("bank.bank")))
+        {
+            for (int i = 0; i < 65; i++)
+            {
+                bank.openAccount();
+            }
+            bank.getAccount("1").deposit(100L);
+
+            // Accounts 1 and 65 use the same lock stripe.
+            bank.transfer("1", "65", 40L);
+            bank.transfer("65", "1", 15L);
+
+            assertEquals(75L, bank.getAccount("1").getBalance());
+            assertEquals(25L, bank.getAccount("65").getBalance());
+        }
+    }
+
+    @Test
+    void fileGrowsWhenTheSlotsRunOut() throws IOException
+    {
+        Path file = dir.resolve("bank.bank");
+        List<String> numbers = new ArrayList<>();
+        try (MappedBank bank = new MappedBank(file, 2))
+        {
+            BankAccount first = bank.getAccount(bank.openAccount());
+            numbers.add("1");
+            for (int i = 1; i < 10; i++)
+            {
+                String number = bank.openAccount();
+                numbers.add(number);
+                bank.getAccount(number).deposit(i);
+            }
+            first.deposit(1_000L);
+        }
+
+        assertEquals(MappedBank.HEADER_SIZE + 16L * MappedBank.SLOT_SIZE, Files.size(file));
+        try (MappedBank reopened = new MappedBank(file))
+        {
+            assertEquals(1_000L, reopened.getAccount(numbers.get(0)).getBalance());
+            for (int i = 1; i < 10; i++)
+            {
+                assertEquals(i, reopened.getAccount(numbers.get(i)).getBalance());
+            }
+        }
+    }
+
+    @Test
+    void accountsOpenedBeforeGrowingStillWork()
+    {
+        try (MappedBank bank = new MappedBank(dir.resolve("bank.bank"), 1))
+        {
+            String a = bank.openAccount();
+            BankAccount account = bank.getAccount(a);
+            for (int i = 0; i < 5; i++)
+            {
+                bank.openAccount();
+            }
+            account.deposit(25L);
+
+            assertEquals(25L, bank.getAccount(a).getBalance());
+        }
+    }
+
+    @Test
+    void unknownNumbersAreRejected()
+    {
+        try (MappedBank bank = new MappedBank(dir.resolve("bank.bank")))
+        {
+            bank.openAccount();
+            assertThrows(NoSuchElementException.class, () -> bank.getAccount("0"));
+            assertThrows(NoSuchElementException.class, () -> bank.getAccount("2"));
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException
+    {
+        Path file = dir.resolve("notes.txt");
+        Files.writeString(file, "These are not the accounts you are looking for.");
+
+        assertThrows(IllegalArgumentException.class, () -> new MappedBank(file));
+        assertEquals(47L, Files.size(file));
+
+        Path slotSized = dir.resolve("zeros.bin");
+        Files.write(slotSized, new byte[MappedBank.HEADER_SIZE + MappedBank.SLOT_SIZE]);
+        assertThrows(IllegalArgumentException.class, () -> new MappedBank(slotSized));
+        assertEquals(MappedBank.HEADER_SIZE + MappedBank.SLOT_SIZE, Files.size(slotSized));
+    }
+
+    @Test
+    void filesWithAPartialSlotAreRejectedUnchanged() throws IOException
+    {
+        Path file = dir.resolve("bank.bank");
+        try (MappedBank bank = new MappedBank(file, 2))
+        {
+            bank.openAccount();
+        }
+        Files.write(file, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+        long size = Files.size(file);
+
+        assertThrows(IllegalArgumentException.class, () -> new MappedBank(file));
+        assertEquals(size, Files.size(file));
+    }
+
+    @Test
+    void concurrentChangesAreNotLost() throws Exception
+    {
+        try (MappedBank bank = new MappedBank(dir.resolve("bank.bank")))
+        {
+            String number = bank.openAccount();
+            bank.getAccount(number).deposit(1_000L);
+            int threads = 8;
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            try
+            {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++)
+                {
+                    futures.add(pool.submit(() ->
+                    {
+                        for (int i = 0; i < 10_000; i++)
+                        {
+                            bank.getAccount(number).deposit(2L);
+                            bank.getAccount(number).withdraw(1L);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures)
+                {
+                    future.get();
+                }
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+
+            assertEquals(1_000L + threads * 10_000L, bank.getAccount(number).getBalance());
+        }
+    }
+
+    @Test
+    void transfersDoNotLoseConcurrentDeposits() throws Exception
+    {
+        try (MappedBank bank = new MappedBank(dir.resolve("bank.bank")))
+        {
+            String a = bank.openAccount();
+            String b = bank.openAccount();
+            bank.getAccount(a).deposit(1_000L);
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            try
+            {
+                Future<?> transfers = pool.submit(() ->
+                {
+                    for (int i = 0; i < 200; i++)
+                    {
+                        bank.transfer(a, b, 1L);
+                    }
+                });
+                Future<?> deposits = pool.submit(() ->
+                {
+                    for (int i = 0; i < 10_000; i++)
+                    {
+                        bank.getAccount(b).deposit(1L);
+                    }
+                });
+                transfers.get();
+                deposits.get();
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+
+            assertEquals(800L, bank.getAccount(a).getBalance());
+            assertEquals(10_200L, bank.getAccount(b).getBalance());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.bank.mmapimpl;
+
+import org.example.bank.Bank;
+import org.example.bank.BankTest;
+
+public class MappedBankTest extends BankTest
+{
+    @Override
+    protected Bank createBank()
+    {
+        return new MappedBank();
+    }
+}